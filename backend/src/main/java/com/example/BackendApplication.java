@@ -2,12 +2,16 @@ package com.example;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.example.infra.config.JwtProperties;
 
-@SpringBootApplication
+// R2DBC连接池由ReactiveUserRepository按需创建；自动配置的ConnectionFactory会使JDBC数据源自动配置退出
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableConfigurationProperties(JwtProperties.class)
+@EnableScheduling
 public class BackendApplication {
     public static void main(String[] args) {
         SpringApplication.run(BackendApplication.class, args);
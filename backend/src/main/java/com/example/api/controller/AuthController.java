@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.api.dto.request.LoginRequest;
+import com.example.api.dto.request.RefreshTokenRequest;
 import com.example.api.dto.response.LoginResponse;
 import com.example.api.dto.response.UserResponse;
 import com.example.core.service.AuthService;
@@ -15,6 +16,8 @@ import com.example.infra.common.Result;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 
 @Tag(name = "认证接口", description = "处理用户登录、注册等认证相关操作")
 @RestController
@@ -28,11 +31,29 @@ public class AuthController extends BaseController {
 
     @Operation(summary = "用户登录", description = "使用用户名/邮箱和密码获取JWT令牌")
     @PostMapping("/auth/login")
-    public Result<LoginResponse> login(@RequestBody LoginRequest request) {
-        LoginResponse response = authService.authenticateUser(request.getUsernameOrEmail(), request.getPassword());
+    public Result<LoginResponse> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        // 经nginx转发时，server.forward-headers-strategy会把remoteAddr还原为真实客户端IP
+        LoginResponse response = authService.authenticateUser(request.getUsernameOrEmail(), request.getPassword(),
+                httpRequest.getRemoteAddr());
         return Result.success(response);
     }
 
+    @Operation(summary = "刷新令牌", description = "使用刷新令牌换取新的访问令牌，原刷新令牌随即失效")
+    @PostMapping("/auth/refresh")
+    public Result<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        LoginResponse response = authService.refreshToken(request.getRefreshToken());
+        return Result.success(response);
+    }
+
+    @Operation(summary = "注销", description = "撤销当前访问令牌，并作废请求体中的刷新令牌")
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/auth/logout")
+    public Result<Void> logout(Authentication authentication,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        authService.logout(authentication, request == null ? null : request.getRefreshToken());
+        return Result.success("注销成功", null);
+    }
+
     @Operation(summary = "验证令牌", description = "验证JWT令牌的有效性并返回用户信息")
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/auth/validate")
@@ -1,5 +1,22 @@
 package com.example.api.controller;
 
+import com.example.core.entity.User;
+import com.example.infra.exception.BusinessException;
+
 public abstract class BaseController {
     // 基础控制器，提供通用功能
+
+    /**
+     * 解析状态筛选参数，忽略大小写
+     */
+    protected User.UserStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return User.UserStatus.valueOf(status.toUpperCase(java.util.Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(400, "不支持的用户状态: " + status);
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package com.example.api.controller;
+
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.api.dto.response.UserPageResponse;
+import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.User;
+import com.example.core.repository.ReactiveUserRepository;
+import com.example.core.service.UserService;
+import com.example.infra.cache.UserLookupCache;
+import com.example.infra.cache.UserSnapshot;
+import com.example.infra.common.Result;
+import com.example.infra.exception.BusinessException;
+import com.example.infra.exception.ResourceNotFoundException;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Mono;
+
+/**
+ * 用户查询的非阻塞版本
+ * 返回Mono后请求转为异步处理，等待数据库期间释放Servlet线程，结果就绪后再派发回容器写出响应。
+ * 语义与/users、/auth/validate的对应接口一致，但不支持关键词搜索和条件请求。
+ */
+@Tag(name = "用户接口（非阻塞）", description = "基于R2DBC的用户查询")
+@RestController
+@RequestMapping("/reactive")
+@SecurityRequirement(name = "Bearer Authentication")
+@ConditionalOnProperty(prefix = "app.reactive.user-read", name = "enabled", havingValue = "true")
+public class ReactiveUserController extends BaseController {
+
+    /**
+     * 每页条数上限，与UserController一致
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactiveUserRepository reactiveUserRepository;
+    private final UserService userService;
+    private final UserLookupCache userLookupCache;
+
+    public ReactiveUserController(ReactiveUserRepository reactiveUserRepository, UserService userService,
+            UserLookupCache userLookupCache) {
+        this.reactiveUserRepository = reactiveUserRepository;
+        this.userService = userService;
+        this.userLookupCache = userLookupCache;
+    }
+
+    @Operation(summary = "获取用户信息", description = "根据用户ID获取用户详细信息")
+    @GetMapping("/users/{id}")
+    public Mono<Result<UserResponse>> getUserById(@PathVariable Long id) {
+        return reactiveUserRepository.findResponseById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User", "id", id)))
+                .map(Result::success);
+    }
+
+    @Operation(summary = "获取用户列表", description = "分页查询用户列表，支持按状态筛选；传入after时按ID键集分页。"
+            + "total=approx（默认）返回近似总数，exact返回精确总数（与当前页并行查询），none不返回总数")
+    @GetMapping("/users")
+    public Mono<Result<UserPageResponse>> getUserList(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "approx") String total) {
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        User.UserStatus userStatus = parseStatus(status);
+        Mono<Optional<Long>> totalCount = switch (total.toLowerCase(java.util.Locale.ROOT)) {
+            case "exact" -> reactiveUserRepository.count(userStatus).map(Optional::of);
+            // 近似总数在内存中维护，不访问数据库
+            case "approx" -> Mono.fromCallable(() -> Optional.of(userService.estimateUserCount(null, userStatus)));
+            case "none" -> Mono.just(Optional.empty());
+            default -> throw new BusinessException(400, "total参数仅支持exact、approx、none");
+        };
+
+        Mono<java.util.List<UserResponse>> users = (after != null
+                ? reactiveUserRepository.findResponsesAfter(userStatus, after, pageSize)
+                : reactiveUserRepository.findResponses(userStatus, page, pageSize)).collectList();
+
+        return Mono.zip(users, totalCount, (list, count) -> Result.success(after != null
+                ? UserPageResponse.ofCursor(list, after, pageSize, count.orElse(null))
+                : UserPageResponse.ofPage(list, page, pageSize, count.orElse(null))));
+    }
+
+    @Operation(summary = "验证令牌", description = "验证JWT令牌的有效性并返回用户信息，本地缓存未命中时非阻塞查库")
+    @GetMapping("/auth/validate")
+    public Mono<Result<UserResponse>> validateToken(Authentication authentication) {
+        String username = authentication.getName();
+        return Mono.justOrEmpty(userLookupCache.findCached(username).map(ReactiveUserController::toResponse))
+                .switchIfEmpty(Mono.defer(() -> reactiveUserRepository.findResponseByUsernameOrEmail(username)))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User", "username", username)))
+                .map(Result::success);
+    }
+
+    private static UserResponse toResponse(UserSnapshot user) {
+        return new UserResponse(user.getId(), user.getUsername(), user.getNickname(), user.getEmail(),
+                user.getPhone(), user.getStatus().name());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.api.controller;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -7,6 +8,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
 import com.example.core.repository.UserRepository;
 
 @RestController
@@ -15,10 +17,13 @@ public class TestController {
 
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TestController(PasswordEncoder passwordEncoder, UserRepository userRepository) {
+    public TestController(PasswordEncoder passwordEncoder, UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.passwordEncoder = passwordEncoder;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @GetMapping("/test-password")
@@ -48,7 +53,8 @@ public class TestController {
 
         String hashedPassword = passwordEncoder.encode(newPassword);
         user.setPassword(hashedPassword);
-        userRepository.save(user);
+        userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(user, UserChangedEvent.ChangeType.PASSWORD_CHANGED));
 
         return String.format("用户 %s 的密码已更新为: %s (哈希: %s)", username, newPassword, hashedPassword);
     }
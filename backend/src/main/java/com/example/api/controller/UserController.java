@@ -1,17 +1,37 @@
 package com.example.api.controller;
 
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.example.api.dto.request.BatchUserRequest;
+import com.example.api.dto.response.BatchUserResponse;
+import com.example.api.dto.response.UserImportResponse;
+import com.example.api.dto.response.UserPageResponse;
 import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.User;
+import com.example.core.repository.VersionedUserResponse;
+import com.example.core.service.UserExportService;
+import com.example.core.service.UserImportService;
 import com.example.core.service.UserService;
 import com.example.infra.common.Result;
+import com.example.infra.exception.BusinessException;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 
 @Tag(name = "用户接口", description = "用户相关操作")
 @RestController
@@ -19,35 +39,181 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @SecurityRequirement(name = "Bearer Authentication")
 public class UserController extends BaseController {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
+    /**
+     * 每页条数上限
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 允许客户端缓存，但每次使用前须用ETag重新验证
+     */
+    private static final String REVALIDATE = "private, no-cache";
+
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserExportService userExportService,
+            UserImportService userImportService) {
         this.userService = userService;
+        this.userExportService = userExportService;
+        this.userImportService = userImportService;
     }
 
-    @Operation(summary = "获取用户信息", description = "根据用户ID获取用户详细信息")
+    @Operation(summary = "获取用户信息", description = "根据用户ID获取用户详细信息。"
+            + "响应带ETag（ID和版本号）和Last-Modified，请求携带If-None-Match或If-Modified-Since且用户未变化时返回304")
     @GetMapping("/{id}")
-    public Result<UserResponse> getUserById(@PathVariable Long id) {
-        UserResponse user = userService.getUserById(id);
-        return Result.success(user);
+    public Result<UserResponse> getUserById(@PathVariable Long id, WebRequest webRequest,
+            HttpServletResponse response) {
+        // 响应体与版本号来自同一次读取，缓存命中时不访问数据库
+        VersionedUserResponse user = userService.getVersionedUserById(id);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        if (webRequest.checkNotModified(userEtag(id, user.getVersion()), user.getLastModified())) {
+            return null;
+        }
+        return Result.success(user.getUser());
     }
 
-    @Operation(summary = "获取用户列表", description = "分页查询用户列表，支持按关键词搜索")
+    @Operation(summary = "批量获取用户信息", description = "一次查询最多" + BatchUserRequest.MAX_IDS
+            + "个用户，结果按请求中的ID顺序排列，不存在的ID在missingIds中返回")
+    @PostMapping("/batch")
+    public Result<BatchUserResponse> getUsersByIds(@Valid @RequestBody BatchUserRequest request) {
+        return Result.success(userService.getUsersByIds(request.getIds()));
+    }
+
+    @Operation(summary = "获取用户列表", description = "分页查询用户列表，支持按关键词搜索和按状态筛选。"
+            + "传入after时按ID键集分页，返回的nextCursor可作为下一页的after；"
+            + "带关键词按页码分页时结果按相关度排序，nextCursor为null；"
+            + "total=approx（默认）返回增量维护的近似总数，exact返回精确总数，none不返回总数。"
+            + "响应带ETag（由返回的分页信息和用户数据计算），未变化时返回304")
     @GetMapping
-    public Result<java.util.Map<String, Object>> getUserList(
+    public Result<UserPageResponse> getUserList(
             @org.springframework.web.bind.annotation.RequestParam(defaultValue = "0") int page,
             @org.springframework.web.bind.annotation.RequestParam(defaultValue = "10") int size,
-            @org.springframework.web.bind.annotation.RequestParam(required = false) String keyword) {
+            @org.springframework.web.bind.annotation.RequestParam(required = false) String keyword,
+            @org.springframework.web.bind.annotation.RequestParam(required = false) Long after,
+            @org.springframework.web.bind.annotation.RequestParam(required = false) String status,
+            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "approx") String total,
+            WebRequest webRequest,
+            HttpServletResponse response) {
         
-        java.util.List<UserResponse> users = userService.getUserList(page, size, keyword);
-        long total = userService.getUserCount(keyword);
+        size = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        User.UserStatus userStatus = parseStatus(status);
+        Long totalCount = switch (total.toLowerCase(java.util.Locale.ROOT)) {
+            case "exact" -> userService.getUserCount(keyword, userStatus);
+            case "approx" -> userService.estimateUserCount(keyword, userStatus);
+            // 调用方不需要总数
+            case "none" -> null;
+            default -> throw new BusinessException(400, "total参数仅支持exact、approx、none");
+        };
         
-        java.util.Map<String, Object> result = new java.util.HashMap<>();
-        result.put("users", users);
-        result.put("total", total);
-        result.put("page", page);
-        result.put("size", size);
+        UserPageResponse result;
+        if (after != null) {
+            result = UserPageResponse.ofCursor(userService.getUserListAfter(after, size, keyword, userStatus),
+                    after, size, totalCount);
+        } else if (keyword == null || keyword.isBlank()) {
+            result = UserPageResponse.ofPage(userService.getUserList(page, size, keyword, userStatus),
+                    page, size, totalCount);
+        } else {
+            // 关键词搜索的页码分页按相关度排序，最后一条的ID不能作为after游标
+            result = UserPageResponse.ofRankedPage(userService.getUserList(page, size, keyword, userStatus),
+                    page, size, totalCount);
+        }
         
+        // ETag由响应体本身计算，与返回的数据一定对应，不需要额外的版本查询
+        response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        if (webRequest.checkNotModified(listEtag(result))) {
+            return null;
+        }
         return Result.success(result);
     }
+
+    @Operation(summary = "导出用户", description = "按ID升序流式导出全部用户，format=ndjson（默认）每行一个JSON对象，"
+            + "csv为带表头的CSV；可按状态筛选。仅管理员（ROLE_ADMIN）可调用")
+    @GetMapping("/export")
+    public void exportUsers(
+            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "ndjson") String format,
+            @org.springframework.web.bind.annotation.RequestParam(required = false) String status,
+            HttpServletResponse response) {
+        
+        User.UserStatus userStatus = parseStatus(status);
+        UserExportService.Format exportFormat;
+        try {
+            exportFormat = UserExportService.Format.valueOf(format.toUpperCase(java.util.Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(400, "format参数仅支持ndjson、csv");
+        }
+        
+        String extension = exportFormat.name().toLowerCase(java.util.Locale.ROOT);
+        response.setContentType(exportFormat == UserExportService.Format.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"users-"
+                + java.time.LocalDate.now() + "." + extension + "\"");
+        
+        // 同步写出：不受异步请求超时限制，写出阻塞即暂停读取
+        try {
+            userExportService.exportUsers(userStatus, exportFormat, response.getOutputStream());
+        } catch (IOException e) {
+            // 响应已开始写出，无法再返回错误信息，通常是客户端中断了下载
+            logger.warn("用户导出中断: {}", e.getMessage());
+        }
+    }
+
+    @Operation(summary = "批量导入用户", description = "上传UTF-8编码的CSV，首行为表头，必需列username、password，"
+            + "可选列email、phone、nickname、status；无效或重复的行跳过并在errors中报告。"
+            + "仅管理员（ROLE_ADMIN）可调用")
+    @PostMapping(value = "/import", consumes = org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Result<UserImportResponse> importUsers(
+            @org.springframework.web.bind.annotation.RequestParam("file") org.springframework.web.multipart.MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new BusinessException(400, "导入文件为空");
+        }
+        try (java.io.InputStream in = file.getInputStream()) {
+            return Result.success(userImportService.importUsers(in));
+        } catch (IOException e) {
+            throw new BusinessException(400, "读取导入文件失败: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "修改用户状态", description = "锁定、禁用或启用用户，锁定或禁用后该用户已签发的令牌立即失效。"
+            + "仅管理员（ROLE_ADMIN）可调用")
+    @PutMapping("/{id}/status")
+    public Result<UserResponse> updateUserStatus(
+            @PathVariable Long id,
+            @org.springframework.web.bind.annotation.RequestParam User.UserStatus status) {
+        UserResponse user = userService.updateUserStatus(id, status);
+        return Result.success(user);
+    }
+
+    /**
+     * 单个用户的强ETag，版本号在每次更新时递增
+     */
+    private static String userEtag(Long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * 列表页的强ETag：分页信息、总数以及当前页每个用户全部字段的摘要。
+     * 页内用户的增删改和总数变化都会改变ETag
+     */
+    private static String listEtag(UserPageResponse page) {
+        StringBuilder source = new StringBuilder(64 + page.getUsers().size() * 96)
+                .append(page.getPage()).append('|').append(page.getAfter()).append('|').append(page.getSize())
+                .append('|').append(page.getTotal()).append('|').append(page.getNextCursor());
+        for (UserResponse user : page.getUsers()) {
+            // 字段间用不会出现在用户数据中的控制字符分隔
+            source.append('\u001e').append(user.getId()).append('\u001f').append(user.getUsername())
+                    .append('\u001f').append(user.getNickname()).append('\u001f').append(user.getEmail())
+                    .append('\u001f').append(user.getPhone()).append('\u001f').append(user.getStatus());
+        }
+        try {
+            byte[] digest = java.security.MessageDigest.getInstance("SHA-256")
+                    .digest(source.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8));
+            return "\"" + java.util.HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package com.example.api.dto.request;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "批量查询用户请求")
+public class BatchUserRequest {
+
+    /**
+     * 单次查询的ID数量上限
+     */
+    public static final int MAX_IDS = 100;
+
+    @Schema(description = "用户ID列表，返回结果按此顺序排列")
+    @NotEmpty(message = "用户ID列表不能为空")
+    @Size(max = MAX_IDS, message = "单次最多查询" + MAX_IDS + "个用户")
+    private List<@NotNull(message = "用户ID不能为空") Long> ids;
+
+    public BatchUserRequest() {
+    }
+
+    public BatchUserRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.api.dto.response;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "批量查询用户响应")
+public class BatchUserResponse {
+
+    @Schema(description = "找到的用户，按请求中的ID顺序排列，重复ID只返回一次")
+    private List<UserResponse> users;
+
+    @Schema(description = "不存在的用户ID")
+    private List<Long> missingIds;
+
+    public BatchUserResponse() {
+    }
+
+    public BatchUserResponse(List<UserResponse> users, List<Long> missingIds) {
+        this.users = users;
+        this.missingIds = missingIds;
+    }
+
+    public List<UserResponse> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<UserResponse> users) {
+        this.users = users;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -13,6 +13,12 @@ public class LoginResponse {
     @Schema(description = "令牌类型", example = "Bearer")
     private String tokenType = "Bearer";
     
+    @Schema(description = "刷新令牌，访问令牌过期后用于换取新令牌")
+    private String refreshToken;
+    
+    @Schema(description = "访问令牌有效期（秒）", example = "900")
+    private Long expiresIn;
+    
     @Schema(description = "用户对象")
     private UserDto user;
     
@@ -73,6 +79,22 @@ public class LoginResponse {
         this.userId = userId;
     }
     
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+    
     public UserDto getUser() {
         return user;
     }
@@ -0,0 +1,146 @@
+package com.example.api.dto.response;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "用户导入结果")
+public class UserImportResponse {
+
+    @Schema(description = "读取的数据行数（不含表头）")
+    private long total;
+
+    @Schema(description = "成功导入的行数")
+    private long imported;
+
+    @Schema(description = "失败的行数")
+    private long failed;
+
+    @Schema(description = "耗时（毫秒）")
+    private long elapsedMillis;
+
+    @Schema(description = "导入速度（行/秒）")
+    private long rowsPerSecond;
+
+    @Schema(description = "行错误，超出上限时只返回前面部分")
+    private List<RowError> errors;
+
+    @Schema(description = "行错误是否被截断")
+    private boolean errorsTruncated;
+
+    public UserImportResponse() {
+    }
+
+    public UserImportResponse(long total, long imported, long failed, long elapsedMillis,
+            List<RowError> errors, boolean errorsTruncated) {
+        this.total = total;
+        this.imported = imported;
+        this.failed = failed;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = elapsedMillis > 0 ? total * 1000 / elapsedMillis : total;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    @Schema(description = "行错误")
+    public static class RowError {
+
+        @Schema(description = "行号（表头为第1行）")
+        private long line;
+
+        @Schema(description = "用户名")
+        private String username;
+
+        @Schema(description = "错误原因")
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(long line, String username, String message) {
+            this.line = line;
+            this.username = username;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
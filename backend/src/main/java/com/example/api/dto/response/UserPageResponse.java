@@ -0,0 +1,105 @@
+package com.example.api.dto.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "用户分页响应")
+@JsonPropertyOrder({"users", "page", "after", "size", "total", "nextCursor"})
+public final class UserPageResponse {
+
+    @Schema(description = "当前页用户")
+    private final List<UserResponse> users;
+
+    @Schema(description = "页码（偏移分页时返回）")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Integer page;
+
+    @Schema(description = "游标（键集分页时返回）")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long after;
+
+    @Schema(description = "每页大小")
+    private final int size;
+
+    @Schema(description = "用户总数（total=none时不返回）")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long total;
+
+    @Schema(description = "下一页的游标，已到末尾或结果不按ID排序（关键词搜索的页码分页）时为null")
+    private final Long nextCursor;
+
+    private UserPageResponse(List<UserResponse> users, Integer page, Long after, int size, Long total,
+            boolean orderedById) {
+        this.users = List.copyOf(users);
+        this.page = page;
+        this.after = after;
+        this.size = size;
+        this.total = total;
+        // 不满一页说明已到末尾；按相关度排序时最后一条的ID不能作为键集游标
+        this.nextCursor = !orderedById || users.size() < size ? null : users.get(users.size() - 1).getId();
+    }
+
+    /**
+     * 偏移分页结果
+     * @param users 当前页用户
+     * @param page 页码
+     * @param size 每页大小
+     * @param total 用户总数（可选）
+     * @return 分页响应
+     */
+    public static UserPageResponse ofPage(List<UserResponse> users, int page, int size, Long total) {
+        return new UserPageResponse(users, page, null, size, total, true);
+    }
+
+    /**
+     * 按相关度排序的偏移分页结果（关键词搜索），不返回游标，翻页使用页码
+     * @param users 当前页用户
+     * @param page 页码
+     * @param size 每页大小
+     * @param total 用户总数（可选）
+     * @return 分页响应
+     */
+    public static UserPageResponse ofRankedPage(List<UserResponse> users, int page, int size, Long total) {
+        return new UserPageResponse(users, page, null, size, total, false);
+    }
+
+    /**
+     * 键集分页结果
+     * @param users 当前页用户
+     * @param after 游标
+     * @param size 每页大小
+     * @param total 用户总数（可选）
+     * @return 分页响应
+     */
+    public static UserPageResponse ofCursor(List<UserResponse> users, long after, int size, Long total) {
+        return new UserPageResponse(users, null, after, size, total, true);
+    }
+
+    public List<UserResponse> getUsers() {
+        return users;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public Long getAfter() {
+        return after;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
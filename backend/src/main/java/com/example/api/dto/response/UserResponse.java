@@ -1,5 +1,7 @@
 package com.example.api.dto.response;
 
+import com.example.core.entity.User;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "用户响应")
@@ -34,6 +36,13 @@ public class UserResponse {
         this.status = status;
     }
     
+    /**
+     * 供JPQL构造器表达式直接投影使用
+     */
+    public UserResponse(Long id, String username, String nickname, String email, String phone, User.UserStatus status) {
+        this(id, username, nickname, email, phone, status == null ? null : status.name());
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
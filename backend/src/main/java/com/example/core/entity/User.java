@@ -1,15 +1,45 @@
 package com.example.core.entity;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
+/**
+ * 用户实体
+ * 进入二级缓存，用户名作为不可变的自然键缓存到ID的映射；缓存区域的容量和过期时间见hibernate-jcache.conf
+ */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_status_id", columnList = "status, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 public class User extends BaseEntity {
 
+    public static final String CACHE_REGION = "user";
+    public static final String NATURAL_ID_CACHE_REGION = "user-natural-id";
+    public static final String QUERY_CACHE_REGION = "user-query";
+    public static final String ROLES_CACHE_REGION = "user-roles";
+
+    @NaturalId
     @Column(unique = true, nullable = false, length = 50)
     private String username;
 
@@ -29,6 +59,24 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private UserStatus status = UserStatus.ACTIVE;
 
+    /**
+     * 每次更新加一，用于生成ETag；同时作为乐观锁版本
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * 角色（user_roles表），认证时总要用到，随用户一起连接查询；JPQL查询需用实体图一并取出
+     */
+    @ManyToMany(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.JOIN)
+    @JoinTable(name = "user_roles",
+            joinColumns = @JoinColumn(name = "user_id"),
+            inverseJoinColumns = @JoinColumn(name = "role_id"))
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.ROLES_CACHE_REGION)
+    private Set<Role> roles = new HashSet<>();
+
     public User() {}
 
     public User(String username, String password) {
@@ -85,6 +133,22 @@ public class User extends BaseEntity {
         this.status = status;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Set<Role> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(Set<Role> roles) {
+        this.roles = roles;
+    }
+
     public enum UserStatus {
         ACTIVE, INACTIVE, LOCKED
     }
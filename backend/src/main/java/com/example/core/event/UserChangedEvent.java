@@ -0,0 +1,91 @@
+package com.example.core.event;
+
+import com.example.core.entity.User;
+
+/**
+ * 用户变更事件
+ * 在用户创建、状态变更、密码变更等写操作完成后发布，供缓存、令牌等组件做失效处理
+ */
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final String username;
+    private final String email;
+    private final ChangeType type;
+    private final User.UserStatus previousStatus;
+    private final User.UserStatus status;
+    private final long version;
+    private final long occurredAt;
+
+    /**
+     * @param version 变更后的版本号，写入方在发布前刷新到数据库
+     * @param occurredAt 变更时间（毫秒），其他节点收到广播时沿用原值
+     */
+    public UserChangedEvent(Long userId, String username, String email, ChangeType type,
+            User.UserStatus previousStatus, User.UserStatus status, long version, long occurredAt) {
+        this.userId = userId;
+        this.username = username;
+        this.email = email;
+        this.type = type;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.version = version;
+        this.occurredAt = occurredAt;
+    }
+
+    public static UserChangedEvent of(User user, ChangeType type) {
+        return new UserChangedEvent(user.getId(), user.getUsername(), user.getEmail(), type,
+                user.getStatus(), user.getStatus(), user.getVersion(), System.currentTimeMillis());
+    }
+
+    public static UserChangedEvent statusChanged(User user, User.UserStatus previousStatus) {
+        return new UserChangedEvent(user.getId(), user.getUsername(), user.getEmail(), ChangeType.STATUS_CHANGED,
+                previousStatus, user.getStatus(), user.getVersion(), System.currentTimeMillis());
+    }
+
+    /**
+     * 该变更是否应使已签发的令牌失效
+     * @return 是否撤销令牌
+     */
+    public boolean revokesTokens() {
+        return type == ChangeType.PASSWORD_CHANGED
+                || type == ChangeType.DELETED
+                || (type == ChangeType.STATUS_CHANGED && status != User.UserStatus.ACTIVE);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public User.UserStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public User.UserStatus getStatus() {
+        return status;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getOccurredAt() {
+        return occurredAt;
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, STATUS_CHANGED, PASSWORD_CHANGED, DELETED
+    }
+}
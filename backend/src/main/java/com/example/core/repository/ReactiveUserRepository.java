@@ -0,0 +1,171 @@
+package com.example.core.repository;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.User;
+import com.example.infra.config.ReactiveUserReadProperties;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 基于R2DBC的用户只读查询，查询与UserRepository中的响应投影一致
+ * 等待数据库期间不占用线程；写入仍走JPA，本类不参与JPA事务，读到的是已提交的数据。
+ * 连接池由本类持有而不注册为ConnectionFactory Bean，否则JDBC数据源自动配置会退出。
+ */
+@Repository
+@ConditionalOnProperty(prefix = "app.reactive.user-read", name = "enabled", havingValue = "true")
+public class ReactiveUserRepository implements DisposableBean {
+
+    private static final String RESPONSE_SELECT = "SELECT id, username, nickname, email, phone, status FROM users";
+
+    private final DatabaseClient databaseClient;
+    private final Disposable connectionPool;
+
+    @Autowired
+    public ReactiveUserRepository(ReactiveUserReadProperties properties) {
+        this(createPool(properties));
+    }
+
+    private ReactiveUserRepository(ConnectionPool pool) {
+        this.databaseClient = DatabaseClient.create(pool);
+        this.connectionPool = pool;
+    }
+
+    /**
+     * 使用外部管理的连接，用于测试和基准
+     * @param databaseClient 数据库客户端
+     */
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.connectionPool = null;
+    }
+
+    /**
+     * 根据ID查询用户响应
+     * @param id 用户ID
+     * @return 用户响应，不存在时为空
+     */
+    public Mono<UserResponse> findResponseById(Long id) {
+        return databaseClient.sql(RESPONSE_SELECT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toResponse)
+                .one();
+    }
+
+    /**
+     * 根据用户名或邮箱查询用户响应，判断规则与UserRepository.findByUsernameOrEmail一致
+     * @param usernameOrEmail 用户名或邮箱
+     * @return 用户响应，不存在时为空
+     */
+    public Mono<UserResponse> findResponseByUsernameOrEmail(String usernameOrEmail) {
+        String column = usernameOrEmail.contains("@") ? "email" : "username";
+        return databaseClient.sql(RESPONSE_SELECT + " WHERE " + column + " = :value")
+                .bind("value", usernameOrEmail)
+                .map(ReactiveUserRepository::toResponse)
+                .one();
+    }
+
+    /**
+     * 偏移分页查询用户响应，按ID升序
+     * @param status 用户状态，为null时不筛选
+     * @param page 页码（从0开始）
+     * @param size 每页条数
+     * @return 当前页用户
+     */
+    public Flux<UserResponse> findResponses(User.UserStatus status, int page, int size) {
+        String where = status != null ? " WHERE status = :status" : "";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql(RESPONSE_SELECT + where + " ORDER BY id LIMIT :limit OFFSET :offset")
+                .bind("limit", size)
+                .bind("offset", (long) page * size);
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        return spec.map(ReactiveUserRepository::toResponse).all();
+    }
+
+    /**
+     * 键集分页查询用户响应，按ID升序
+     * @param status 用户状态，为null时不筛选
+     * @param afterId 游标（上一页最后一个用户ID）
+     * @param size 每页条数
+     * @return 当前页用户
+     */
+    public Flux<UserResponse> findResponsesAfter(User.UserStatus status, long afterId, int size) {
+        String where = status != null ? " WHERE status = :status AND id > :afterId" : " WHERE id > :afterId";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql(RESPONSE_SELECT + where + " ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", size);
+        if (status != null) {
+            spec = spec.bind("status", status.name());
+        }
+        return spec.map(ReactiveUserRepository::toResponse).all();
+    }
+
+    /**
+     * 统计用户数
+     * @param status 用户状态，为null时统计全部
+     * @return 用户数
+     */
+    public Mono<Long> count(User.UserStatus status) {
+        if (status == null) {
+            return databaseClient.sql("SELECT COUNT(*) FROM users")
+                    .map(row -> row.get(0, Long.class))
+                    .one();
+        }
+        return databaseClient.sql("SELECT COUNT(*) FROM users WHERE status = :status")
+                .bind("status", status.name())
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    private static UserResponse toResponse(Readable row) {
+        return new UserResponse(
+                row.get("id", Long.class),
+                row.get("username", String.class),
+                row.get("nickname", String.class),
+                row.get("email", String.class),
+                row.get("phone", String.class),
+                row.get("status", String.class));
+    }
+
+    private static ConnectionPool createPool(ReactiveUserReadProperties properties) {
+        if (properties.getUrl() == null || properties.getUrl().isBlank()) {
+            throw new IllegalStateException("已启用响应式用户查询，但未配置app.reactive.user-read.url");
+        }
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .initialSize(0)
+                .maxSize(properties.getMaxSize())
+                .maxAcquireTime(properties.getMaxAcquireTime())
+                .build();
+        return new ConnectionPool(configuration);
+    }
+}
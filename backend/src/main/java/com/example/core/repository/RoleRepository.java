@@ -0,0 +1,19 @@
+package com.example.core.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.core.entity.Role;
+
+@Repository
+public interface RoleRepository extends JpaRepository<Role, Long> {
+
+    /**
+     * 根据名称查找角色
+     * @param name 角色名称，如ROLE_ADMIN
+     * @return 角色
+     */
+    Optional<Role> findByName(String name);
+}
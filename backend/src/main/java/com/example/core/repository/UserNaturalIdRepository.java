@@ -0,0 +1,19 @@
+package com.example.core.repository;
+
+import java.util.Optional;
+
+import com.example.core.entity.User;
+
+/**
+ * 按自然键（用户名）查找用户
+ * 走Hibernate自然键缓存和二级缓存，命中时不访问数据库
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * 根据用户名查找用户
+     * @param username 用户名
+     * @return 用户信息
+     */
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,33 @@
+package com.example.core.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.core.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * 自然键查找实现
+ * 先按用户名在自然键缓存中解析出ID，再按ID读取二级缓存；任一未命中才查询数据库并回填缓存。
+ * 自定义片段不继承仓库接口上的事务声明，需自行开启只读事务，否则事务外调用时会话在unwrap后即被关闭。
+ */
+@Transactional(readOnly = true)
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
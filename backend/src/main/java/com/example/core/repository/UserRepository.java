@@ -1,21 +1,33 @@
 package com.example.core.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.api.dto.response.UserResponse;
 import com.example.core.entity.User;
 
+import jakarta.persistence.QueryHint;
+
+/**
+ * 用户仓库
+ * 声明的查询方法默认不带事务，这里统一标记为只读事务：启用读写分离时走副本，
+ * 在读写事务中调用时加入外层事务，仍走主库。save等继承的写方法保留各自的读写事务。
+ */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    
-    /**
-     * 根据用户名查找用户
-     * @param username 用户名
-     * @return 用户信息
-     */
-    Optional<User> findByUsername(String username);
+@Transactional(readOnly = true)
+public interface UserRepository extends JpaRepository<User, Long>, UserSearchRepository, UserNaturalIdRepository {
     
     /**
      * 检查用户名是否存在
@@ -26,9 +38,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     /**
      * 根据邮箱查找用户
+     * 邮箱可修改，不是自然键；结果进入查询缓存，users表经JPA写入后整体失效
      * @param email 邮箱
      * @return 用户信息
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = User.QUERY_CACHE_REGION)
+    })
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
     
     /**
@@ -44,4 +62,86 @@ public interface UserRepository extends JpaRepository<User, Long> {
             return findByUsername(usernameOrEmail);
         }
     }
+    
+    /**
+     * 只查询用户响应所需列的构造器表达式，结果不进入持久化上下文
+     */
+    String RESPONSE_SELECT = "select new com.example.api.dto.response.UserResponse("
+            + "u.id, u.username, u.nickname, u.email, u.phone, u.status) from User u";
+    
+    /**
+     * 根据ID查询用户响应
+     * @param id 用户ID
+     * @return 用户响应
+     */
+    @Query(RESPONSE_SELECT + " where u.id = :id")
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+    
+    /**
+     * 根据ID查询用户响应及其版本号和更新时间
+     * @param id 用户ID
+     * @return 带版本的用户响应
+     */
+    @Query("select new com.example.core.repository.VersionedUserResponse(u.id, u.username, u.nickname, u.email, "
+            + "u.phone, u.status, u.version, u.updatedAt) from User u where u.id = :id")
+    Optional<VersionedUserResponse> findVersionedResponseById(@Param("id") Long id);
+    
+    /**
+     * 按ID集合查询用户响应（单条IN查询），结果顺序不确定
+     * @param ids 用户ID集合
+     * @return 用户响应列表
+     */
+    @Query(RESPONSE_SELECT + " where u.id in :ids")
+    List<UserResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 偏移分页查询用户响应，不执行count查询
+     * @param pageable 分页参数（排序固定为ID升序）
+     * @return 当前页用户
+     */
+    @Query(RESPONSE_SELECT + " order by u.id")
+    List<UserResponse> findResponses(Pageable pageable);
+    
+    /**
+     * 按状态偏移分页查询用户响应，不执行count查询
+     * @param status 用户状态
+     * @param pageable 分页参数（排序固定为ID升序）
+     * @return 当前页用户
+     */
+    @Query(RESPONSE_SELECT + " where u.status = :status order by u.id")
+    List<UserResponse> findResponsesByStatus(@Param("status") User.UserStatus status, Pageable pageable);
+    
+    /**
+     * 键集分页：按ID升序查询游标之后的用户，走主键索引，与翻页深度无关
+     * @param afterId 游标（上一页最后一个用户ID）
+     * @param limit 每页条数
+     * @return 当前页用户
+     */
+    @Query(RESPONSE_SELECT + " where u.id > :afterId order by u.id")
+    List<UserResponse> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * 按状态键集分页查询用户响应，走(status, id)索引
+     * @param status 用户状态
+     * @param afterId 游标（上一页最后一个用户ID）
+     * @param limit 每页条数
+     * @return 当前页用户
+     */
+    @Query(RESPONSE_SELECT + " where u.status = :status and u.id > :afterId order by u.id")
+    List<UserResponse> findResponsesByStatusAfter(@Param("status") User.UserStatus status,
+            @Param("afterId") Long afterId, Limit limit);
+    
+    /**
+     * 统计指定状态的用户数
+     * @param status 用户状态
+     * @return 用户数
+     */
+    long countByStatus(User.UserStatus status);
+    
+    /**
+     * 按状态分组统计用户数
+     * @return 每行为[状态, 数量]
+     */
+    @Query("select u.status, count(u) from User u group by u.status")
+    List<Object[]> countGroupByStatus();
 }
@@ -0,0 +1,41 @@
+package com.example.core.repository;
+
+import java.util.List;
+
+import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.User;
+
+/**
+ * 用户关键词搜索
+ * 在用户名、邮箱和昵称中搜索关键词，可同时按状态筛选；只查询用户响应所需的列
+ */
+public interface UserSearchRepository {
+
+    /**
+     * 按相关度分页搜索用户（相关度相同时按ID升序）
+     * @param keyword 关键词
+     * @param status 用户状态，为null时不筛选
+     * @param offset 偏移量
+     * @param limit 每页条数
+     * @return 当前页用户
+     */
+    List<UserResponse> search(String keyword, User.UserStatus status, int offset, int limit);
+
+    /**
+     * 按ID键集分页搜索用户
+     * @param keyword 关键词
+     * @param status 用户状态，为null时不筛选
+     * @param afterId 游标（上一页最后一个用户ID）
+     * @param limit 每页条数
+     * @return 当前页用户
+     */
+    List<UserResponse> searchAfter(String keyword, User.UserStatus status, Long afterId, int limit);
+
+    /**
+     * 统计匹配关键词的用户数
+     * @param keyword 关键词
+     * @param status 用户状态，为null时不筛选
+     * @return 用户数
+     */
+    long countSearch(String keyword, User.UserStatus status);
+}
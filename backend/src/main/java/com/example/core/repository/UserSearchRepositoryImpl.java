@@ -0,0 +1,148 @@
+package com.example.core.repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * 用户关键词搜索实现
+ * fulltext模式使用MySQL ngram全文索引ft_users_search（中文昵称按字切分），按相关度排序；
+ * 短于ngram分词长度的关键词无法命中全文索引，退化为LIKE。
+ * 首次搜索时检查全文索引是否存在（ddl-auto不会创建），不存在时记录警告并整体退化为LIKE，建索引后需重启生效。
+ * like模式只使用LIKE，用于不支持全文索引的数据库（如测试用的H2）。
+ * 自定义片段不继承仓库接口上的只读事务，在此单独声明，使搜索在启用读写分离时走副本。
+ */
+@Transactional(readOnly = true)
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchRepositoryImpl.class);
+
+    private static final String FULLTEXT_INDEX = "ft_users_search";
+    private static final String SELECT = "SELECT id, username, nickname, email, phone, status FROM users WHERE ";
+    private static final String MATCH = "MATCH(username, email, nickname) AGAINST (:query IN BOOLEAN MODE)";
+    private static final String LIKE = "(LOWER(username) LIKE :pattern ESCAPE '!'"
+            + " OR LOWER(email) LIKE :pattern ESCAPE '!'"
+            + " OR LOWER(nickname) LIKE :pattern ESCAPE '!')";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.search.user.mode:fulltext}")
+    private String mode;
+
+    @Value("${app.search.user.ngram-token-size:2}")
+    private int ngramTokenSize;
+
+    /**
+     * 全文索引是否存在，首次使用时检查；并发的首次检查重复执行无副作用
+     */
+    private volatile Boolean fullTextIndexPresent;
+
+    @Override
+    public List<UserResponse> search(String keyword, User.UserStatus status, int offset, int limit) {
+        boolean fullText = useFullText(keyword);
+        String sql = SELECT + condition(fullText, status)
+                + (fullText ? " ORDER BY " + MATCH + " DESC, id ASC" : " ORDER BY id ASC");
+        Query query = entityManager.createNativeQuery(sql);
+        bind(query, keyword, fullText, status);
+        query.setFirstResult(offset);
+        query.setMaxResults(limit);
+        return resultList(query);
+    }
+
+    @Override
+    public List<UserResponse> searchAfter(String keyword, User.UserStatus status, Long afterId, int limit) {
+        boolean fullText = useFullText(keyword);
+        String sql = SELECT + condition(fullText, status) + " AND id > :afterId ORDER BY id ASC";
+        Query query = entityManager.createNativeQuery(sql);
+        bind(query, keyword, fullText, status);
+        query.setParameter("afterId", afterId);
+        query.setMaxResults(limit);
+        return resultList(query);
+    }
+
+    @Override
+    public long countSearch(String keyword, User.UserStatus status) {
+        boolean fullText = useFullText(keyword);
+        Query query = entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM users WHERE " + condition(fullText, status));
+        bind(query, keyword, fullText, status);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    private boolean useFullText(String keyword) {
+        return "fulltext".equalsIgnoreCase(mode) && keyword.strip().length() >= ngramTokenSize
+                && fullTextIndexPresent();
+    }
+
+    private boolean fullTextIndexPresent() {
+        Boolean present = fullTextIndexPresent;
+        if (present == null) {
+            present = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, "users", false, true)) {
+                    while (indexes.next()) {
+                        if (FULLTEXT_INDEX.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            });
+            if (!present) {
+                logger.warn("users表缺少全文索引{}，用户搜索退化为LIKE；建索引方法见database/README.md", FULLTEXT_INDEX);
+            }
+            fullTextIndexPresent = present;
+        }
+        return present;
+    }
+
+    private static String condition(boolean fullText, User.UserStatus status) {
+        return (fullText ? MATCH : LIKE) + (status == null ? "" : " AND status = :status");
+    }
+
+    private static void bind(Query query, String keyword, boolean fullText, User.UserStatus status) {
+        String trimmed = keyword.strip();
+        if (fullText) {
+            // 整体作为短语匹配，与子串搜索语义一致；去掉引号避免破坏布尔模式语法
+            query.setParameter("query", "\"" + trimmed.replace("\"", " ") + "\"");
+        } else {
+            String escaped = trimmed.toLowerCase(Locale.ROOT)
+                    .replace("!", "!!")
+                    .replace("%", "!%")
+                    .replace("_", "!_");
+            query.setParameter("pattern", "%" + escaped + "%");
+        }
+        if (status != null) {
+            query.setParameter("status", status.name());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<UserResponse> resultList(Query query) {
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new UserResponse(
+                        ((Number) row[0]).longValue(),
+                        (String) row[1],
+                        (String) row[2],
+                        (String) row[3],
+                        (String) row[4],
+                        (String) row[5]))
+                .toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.core.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.User;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 带版本号和更新时间的用户响应
+ * 同一次读取得到的响应体和版本，条件请求的ETag、Last-Modified与返回的内容一致
+ */
+public class VersionedUserResponse {
+
+    private final UserResponse user;
+    private final long version;
+    private final long lastModified;
+
+    /**
+     * 查询构造器表达式使用
+     */
+    public VersionedUserResponse(Long id, String username, String nickname, String email, String phone,
+            User.UserStatus status, long version, LocalDateTime updatedAt) {
+        this(new UserResponse(id, username, nickname, email, phone, status), version,
+                updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * @param lastModified 更新时间（毫秒），未知时为-1
+     */
+    @JsonCreator
+    public VersionedUserResponse(@JsonProperty("user") UserResponse user, @JsonProperty("version") long version,
+            @JsonProperty("lastModified") long lastModified) {
+        this.user = user;
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+
+    public UserResponse getUser() {
+        return user;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
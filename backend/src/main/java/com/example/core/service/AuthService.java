@@ -13,7 +13,32 @@ public interface AuthService {
      * @param password 密码
      * @return 登录响应信息
      */
-    LoginResponse authenticateUser(String usernameOrEmail, String password);
+    default LoginResponse authenticateUser(String usernameOrEmail, String password) {
+        return authenticateUser(usernameOrEmail, password, null);
+    }
+    
+    /**
+     * 用户认证（带登录限流）
+     * @param usernameOrEmail 用户名或邮箱
+     * @param password 密码
+     * @param clientIp 客户端IP，用于按IP限流，可为空
+     * @return 登录响应信息
+     */
+    LoginResponse authenticateUser(String usernameOrEmail, String password, String clientIp);
+    
+    /**
+     * 使用刷新令牌换取新的访问令牌，刷新令牌同时轮换
+     * @param refreshToken 刷新令牌
+     * @return 登录响应信息（不含完整用户对象）
+     */
+    LoginResponse refreshToken(String refreshToken);
+    
+    /**
+     * 注销：撤销当前访问令牌和刷新令牌
+     * @param authentication 认证信息，可为空
+     * @param refreshToken 刷新令牌，可为空
+     */
+    void logout(Authentication authentication, String refreshToken);
     
     /**
      * 获取当前用户信息
@@ -0,0 +1,33 @@
+package com.example.core.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.example.core.entity.User;
+
+public interface UserExportService {
+
+    /**
+     * 导出格式
+     */
+    enum Format {
+        /**
+         * 每行一个JSON对象
+         */
+        NDJSON,
+        /**
+         * 带表头的CSV
+         */
+        CSV
+    }
+
+    /**
+     * 按ID升序导出用户，逐行写出，内存占用与用户数量无关
+     * @param status 用户状态（可选）
+     * @param format 导出格式
+     * @param out 输出流，写出阻塞时读取随之暂停
+     * @return 导出的行数
+     * @throws IOException 写出失败（如客户端中断下载）
+     */
+    long exportUsers(User.UserStatus status, Format format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,19 @@
+package com.example.core.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.example.api.dto.response.UserImportResponse;
+
+public interface UserImportService {
+
+    /**
+     * 从CSV批量导入用户
+     * 首行为表头，必需列为username、password，可选列为email、phone、nickname、status（默认ACTIVE）。
+     * 无效行和与已有用户名冲突的行跳过并在结果中报告，其余行照常导入。
+     * @param in UTF-8编码的CSV输入流
+     * @return 导入结果
+     * @throws IOException 读取失败或CSV格式错误
+     */
+    UserImportResponse importUsers(InputStream in) throws IOException;
+}
@@ -2,30 +2,109 @@ package com.example.core.service;
 
 import java.util.List;
 
+import com.example.api.dto.response.BatchUserResponse;
 import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.User;
+import com.example.core.repository.VersionedUserResponse;
 
 public interface UserService {
     
     /**
-     * 根据ID获取用户信息
+     * 根据ID获取用户信息（经过读缓存）
      * @param id 用户ID
      * @return 用户响应对象
      */
     UserResponse getUserById(Long id);
     
     /**
-     * 获取用户列表
+     * 根据ID获取用户信息及其版本号和更新时间（经过读缓存），用于条件请求
+     * @param id 用户ID
+     * @return 带版本的用户响应，版本与内容来自同一次读取
+     */
+    VersionedUserResponse getVersionedUserById(Long id);
+    
+    /**
+     * 批量获取用户信息（一次查询）
+     * @param ids 用户ID列表
+     * @return 按请求顺序排列的用户（重复ID只返回一次）和不存在的用户ID
+     */
+    BatchUserResponse getUsersByIds(List<Long> ids);
+    
+    /**
+     * 获取用户列表（偏移分页，按ID升序）
      * @param page 页码（从0开始）
      * @param size 每页大小
      * @param keyword 搜索关键词（可选，用于搜索用户名或邮箱）
      * @return 用户列表
      */
-    List<UserResponse> getUserList(int page, int size, String keyword);
+    default List<UserResponse> getUserList(int page, int size, String keyword) {
+        return getUserList(page, size, keyword, null);
+    }
     
     /**
-     * 获取用户总数
+     * 按状态筛选用户列表（偏移分页，按ID升序）
+     * @param page 页码（从0开始）
+     * @param size 每页大小
+     * @param keyword 搜索关键词（可选，用于搜索用户名或邮箱）
+     * @param status 用户状态（可选）
+     * @return 用户列表
+     */
+    List<UserResponse> getUserList(int page, int size, String keyword, User.UserStatus status);
+    
+    /**
+     * 获取用户列表（键集分页，按ID升序）
+     * 翻页深度不影响查询代价，适合遍历大量用户
+     * @param afterId 游标，返回ID大于该值的用户
+     * @param size 每页大小
+     * @param keyword 搜索关键词（可选，用于搜索用户名或邮箱）
+     * @return 用户列表
+     */
+    default List<UserResponse> getUserListAfter(Long afterId, int size, String keyword) {
+        return getUserListAfter(afterId, size, keyword, null);
+    }
+    
+    /**
+     * 按状态筛选用户列表（键集分页，按ID升序）
+     * @param afterId 游标，返回ID大于该值的用户
+     * @param size 每页大小
+     * @param keyword 搜索关键词（可选，用于搜索用户名或邮箱）
+     * @param status 用户状态（可选）
+     * @return 用户列表
+     */
+    List<UserResponse> getUserListAfter(Long afterId, int size, String keyword, User.UserStatus status);
+    
+    /**
+     * 获取用户总数（精确，查询数据库）
+     * @param keyword 搜索关键词（可选）
+     * @return 用户总数
+     */
+    default long getUserCount(String keyword) {
+        return getUserCount(keyword, null);
+    }
+    
+    /**
+     * 获取用户总数（精确，查询数据库）
      * @param keyword 搜索关键词（可选）
+     * @param status 用户状态（可选）
      * @return 用户总数
      */
-    long getUserCount(String keyword);
+    long getUserCount(String keyword, User.UserStatus status);
+    
+    /**
+     * 获取用户总数（近似，读取增量维护的计数，不查询数据库）
+     * 带关键词时计数无法预先维护，退化为精确统计
+     * @param keyword 搜索关键词（可选）
+     * @param status 用户状态（可选）
+     * @return 用户总数
+     */
+    long estimateUserCount(String keyword, User.UserStatus status);
+    
+    /**
+     * 修改用户状态（锁定、禁用或启用）
+     * 锁定或禁用后，该用户此前签发的令牌立即失效
+     * @param id 用户ID
+     * @param status 新状态
+     * @return 用户响应对象
+     */
+    UserResponse updateUserStatus(Long id, User.UserStatus status);
 }
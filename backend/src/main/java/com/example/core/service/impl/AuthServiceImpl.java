@@ -1,59 +1,139 @@
 package com.example.core.service.impl;
 
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.example.api.dto.UserDto;
 import com.example.api.dto.response.LoginResponse;
 import com.example.api.dto.response.UserResponse;
-import com.example.core.entity.User;
-import com.example.core.repository.UserRepository;
 import com.example.core.service.AuthService;
+import com.example.infra.cache.UserLookupCache;
+import com.example.infra.cache.UserSnapshot;
 import com.example.infra.security.JwtTokenProvider;
-
-import java.util.Collection;
-import java.util.stream.Collectors;
+import com.example.infra.exception.BusinessException;
+import com.example.infra.security.LoginAttemptService;
+import com.example.infra.security.LoginTimings;
+import com.example.infra.security.ParsedToken;
+import com.example.infra.security.RefreshTokenService;
+import com.example.infra.security.TokenRevocationService;
+import com.example.infra.security.UserPrincipal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class AuthServiceImpl implements AuthService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
+
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
-    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    private final LoginAttemptService loginAttemptService;
+    private final UserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * 登录各阶段耗时，按登录成功和失败分别统计
+     */
+    private final PhaseTimers successTimers;
+    private final PhaseTimers failureTimers;
 
     public AuthServiceImpl(AuthenticationManager authenticationManager,
             JwtTokenProvider tokenProvider,
-            UserRepository userRepository) {
+            UserLookupCache userLookupCache,
+            LoginAttemptService loginAttemptService,
+            UserDetailsService userDetailsService,
+            RefreshTokenService refreshTokenService,
+            TokenRevocationService tokenRevocationService,
+            ObjectProvider<MeterRegistry> meterRegistry) {
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
-        this.userRepository = userRepository;
+        this.userLookupCache = userLookupCache;
+        this.loginAttemptService = loginAttemptService;
+        this.userDetailsService = userDetailsService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.successTimers = PhaseTimers.register(registry, "success");
+        this.failureTimers = PhaseTimers.register(registry, "failure");
     }
 
     @Override
-    public LoginResponse authenticateUser(String usernameOrEmail, String password) {
+    public LoginResponse authenticateUser(String usernameOrEmail, String password, String clientIp) {
+        // 处于退避期的请求直接拒绝，不做哈希也不查库
+        loginAttemptService.checkAllowed(usernameOrEmail, clientIp);
+
+        // 使用用户名或邮箱进行认证，认证主体即唯一一次查询得到的用户
+        UsernamePasswordAuthenticationToken authenticationRequest =
+                new UsernamePasswordAuthenticationToken(usernameOrEmail, password);
+        LoginTimings timings = new LoginTimings();
+        authenticationRequest.setDetails(timings);
+
+        Authentication authentication;
         try {
-            // 使用用户名或邮箱进行认证
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(usernameOrEmail, password));
+            authentication = authenticationManager.authenticate(authenticationRequest);
+        } catch (AuthenticationException e) {
+            // 失败的登录同样经过查询和哈希，计入耗时才能看出暴力尝试占用的哈希资源
+            failureTimers.record(timings);
+            loginAttemptService.recordFailure(usernameOrEmail, clientIp);
+            throw new RuntimeException("用户名/邮箱或密码错误");
+        }
+        loginAttemptService.recordSuccess(usernameOrEmail);
 
-            String token = tokenProvider.generateToken(authentication);
+        long signStart = System.nanoTime();
+        String token = tokenProvider.generateToken(authentication);
+        timings.recordSign(System.nanoTime() - signStart);
+        successTimers.record(timings);
+        logger.debug("登录耗时 {}: {}", authentication.getName(), timings);
 
-            // 根据用户名或邮箱查找用户
-            User user = userRepository.findByUsernameOrEmail(usernameOrEmail)
-                    .orElseThrow(() -> new RuntimeException("用户不存在"));
+        return loginResponse(token, authentication);
+    }
 
-            // 创建UserDto对象
-            UserDto userDto = convertToUserDto(user, authentication.getAuthorities());
+    @Override
+    public LoginResponse refreshToken(String refreshToken) {
+        String username = refreshTokenService.consume(refreshToken);
+        if (username == null) {
+            throw new BusinessException(401, "刷新令牌无效或已过期");
+        }
 
-            // 返回包含完整user对象的LoginResponse
-            return new LoginResponse(token, userDto);
-        } catch (AuthenticationException e) {
-            throw new RuntimeException("用户名/邮箱或密码错误");
+        // 重新加载用户，已锁定或禁用的用户不能续期
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            throw new BusinessException(401, "刷新令牌无效或已过期");
+        }
+        if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+            throw new BusinessException(401, "用户已被锁定或禁用");
         }
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        return loginResponse(tokenProvider.generateToken(authentication), authentication);
+    }
+
+    @Override
+    public void logout(Authentication authentication, String refreshToken) {
+        if (authentication != null && authentication.getCredentials() instanceof ParsedToken parsedToken) {
+            tokenRevocationService.revoke(parsedToken.getId(), parsedToken.getExpiration());
+        }
+        refreshTokenService.revoke(refreshToken);
     }
 
     @Override
@@ -61,23 +141,32 @@ public class AuthServiceImpl implements AuthService {
         // 从认证信息中获取用户名
         String username = authentication.getName();
 
-        // 根据用户名查找用户
-        User user = userRepository.findByUsernameOrEmail(username)
+        // 根据用户名查找用户（优先命中缓存）
+        UserSnapshot user = userLookupCache.findByUsernameOrEmail(username)
                 .orElseThrow(() -> new RuntimeException("用户不存在"));
 
         return convertToUserResponse(user);
     }
 
     /**
-     * 将User实体转换为UserDto
+     * 构建登录和续期共用的响应，包含完整的user对象和新的刷新令牌
+     */
+    private LoginResponse loginResponse(String token, Authentication authentication) {
+        LoginResponse response = new LoginResponse(token, convertToUserDto(authentication));
+        response.setRefreshToken(refreshTokenService.issue(authentication.getName()));
+        response.setExpiresIn((long) tokenProvider.getExpirationInSeconds());
+        return response;
+    }
+
+    /**
+     * 将认证结果转换为UserDto
      * 
-     * @param user        User实体
-     * @param authorities 用户权限
+     * @param authentication 认证结果
      * @return UserDto对象
      */
-    private UserDto convertToUserDto(User user, Collection<? extends GrantedAuthority> authorities) {
+    private UserDto convertToUserDto(Authentication authentication) {
         // 从权限中提取角色
-        String role = authorities.stream()
+        String role = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
 
@@ -86,6 +175,14 @@ public class AuthServiceImpl implements AuthService {
             role = "USER";
         }
 
+        // 其他认证提供者返回的主体不带用户资料时，按用户名查缓存
+        if (!(authentication.getPrincipal() instanceof UserPrincipal user)) {
+            UserSnapshot snapshot = userLookupCache.findByUsernameOrEmail(authentication.getName())
+                    .orElseThrow(() -> new RuntimeException("用户不存在"));
+            return new UserDto(snapshot.getId(), snapshot.getUsername(), snapshot.getEmail(),
+                    snapshot.getNickname(), role, null);
+        }
+
         // 创建并返回UserDto
         return new UserDto(
                 user.getId(),
@@ -98,12 +195,12 @@ public class AuthServiceImpl implements AuthService {
     }
 
     /**
-     * 将用户实体转换为用户响应对象
+     * 将用户快照转换为用户响应对象
      * 
-     * @param user 用户实体
+     * @param user 用户快照
      * @return 用户响应对象
      */
-    private UserResponse convertToUserResponse(User user) {
+    private UserResponse convertToUserResponse(UserSnapshot user) {
         return new UserResponse(
                 user.getId(),
                 user.getUsername(),
@@ -112,4 +209,39 @@ public class AuthServiceImpl implements AuthService {
                 user.getPhone(),
                 user.getStatus().name());
     }
+
+    /**
+     * 登录各阶段的计时器：用户查询、密码校验、哈希升级和签发令牌
+     */
+    private record PhaseTimers(Timer lookup, Timer hash, Timer upgrade, Timer sign) {
+
+        static PhaseTimers register(MeterRegistry registry, String outcome) {
+            return new PhaseTimers(phaseTimer(registry, "lookup", outcome), phaseTimer(registry, "hash", outcome),
+                    phaseTimer(registry, "upgrade", outcome), phaseTimer(registry, "sign", outcome));
+        }
+
+        /**
+         * 只记录实际执行过的阶段，例如失败的登录没有升级和签发，用户不存在时没有密码校验
+         */
+        void record(LoginTimings timings) {
+            record(lookup, timings.getLookupNanos());
+            record(hash, timings.getHashNanos());
+            record(upgrade, timings.getUpgradeNanos());
+            record(sign, timings.getSignNanos());
+        }
+
+        private static void record(Timer timer, long nanos) {
+            if (nanos > 0) {
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private static Timer phaseTimer(MeterRegistry registry, String phase, String outcome) {
+            return Timer.builder("auth.login.phase")
+                    .description("登录各阶段耗时")
+                    .tag("phase", phase)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
 }
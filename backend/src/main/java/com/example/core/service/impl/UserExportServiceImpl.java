@@ -0,0 +1,191 @@
+package com.example.core.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.core.entity.User;
+import com.example.core.service.UserExportService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * 用户导出
+ * 直接用JDBC游标逐行读取并写出，不经过JPA，也不在内存中组装列表。
+ * MySQL驱动在fetchSize为Integer.MIN_VALUE时按行流式返回结果（驱动会相应放宽net_write_timeout），
+ * 输出流写满阻塞时不再读取下一行，数据库端随之等待。
+ */
+@Service
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserExportServiceImpl.class);
+
+    private static final String SELECT = "SELECT id, username, nickname, email, phone, status, created_at FROM users";
+    private static final String[] COLUMNS = {"id", "username", "nickname", "email", "phone", "status", "createdAt"};
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 游标每次取回的行数，MySQL使用Integer.MIN_VALUE表示逐行流式读取
+     */
+    @Value("${app.export.user.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int fetchSize;
+
+    public UserExportServiceImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true) // 启用读写分离时整个导出在副本上执行
+    public long exportUsers(User.UserStatus status, Format format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long[] rows = new long[1];
+        try {
+            writer.begin();
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        status == null ? SELECT + " ORDER BY id" : SELECT + " WHERE status = ? ORDER BY id",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                if (status != null) {
+                    ps.setString(1, status.name());
+                }
+                return ps;
+            }, (ResultSet rs) -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException e) {
+                    // 中断读取，由外层还原为IOException
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            });
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        logger.info("用户导出完成，格式: {}，行数: {}，耗时: {}ms", format, rows[0], System.currentTimeMillis() - start);
+        return rows[0];
+    }
+
+    private static String createdAt(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp(7);
+        return createdAt == null ? null : createdAt.toLocalDateTime().toString();
+    }
+
+    /**
+     * 按行写出，缓冲区写满时才写入底层输出流
+     */
+    private interface RowWriter {
+
+        void begin() throws IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(out);
+            // 输出流由容器管理
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void begin() {
+            // 无表头
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], rs.getLong(1));
+            for (int i = 1; i < 6; i++) {
+                generator.writeStringField(COLUMNS[i], rs.getString(i + 1));
+            }
+            generator.writeStringField(COLUMNS[6], createdAt(rs));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong(1)));
+            for (int i = 2; i <= 6; i++) {
+                writer.write(',');
+                writeField(rs.getString(i));
+            }
+            writer.write(',');
+            writeField(createdAt(rs));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            // 以公式字符开头的值加前缀，避免在表格软件中被当作公式执行
+            char first = value.charAt(0);
+            boolean formula = first == '=' || first == '+' || first == '-' || first == '@'
+                    || first == '\t' || first == '\r';
+            if (!formula && value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            if (formula) {
+                writer.write('\'');
+            }
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -1,41 +1,134 @@
 package com.example.core.service.impl;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.api.dto.response.BatchUserResponse;
 import com.example.api.dto.response.UserResponse;
 import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
 import com.example.core.repository.UserRepository;
+import com.example.core.repository.VersionedUserResponse;
 import com.example.core.service.UserService;
+import com.example.infra.cache.UserCountStore;
+import com.example.infra.cache.UserReadCache;
 import com.example.infra.exception.ResourceNotFoundException;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserCountStore userCountStore;
+    private final UserReadCache userReadCache;
 
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, ApplicationEventPublisher eventPublisher,
+            UserCountStore userCountStore, UserReadCache userReadCache) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.userCountStore = userCountStore;
+        this.userReadCache = userReadCache;
     }
 
     @Override
     public UserResponse getUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+        return getVersionedUserById(id).getUser();
+    }
 
-        return convertToUserResponse(user);
+    /**
+     * 读缓存的方法不开启事务：只读事务开始时就会占用连接，缓存命中时不应访问连接池；
+     * 未命中时只有一次仓库调用，仓库方法自身在只读事务中执行。
+     */
+    @Override
+    public VersionedUserResponse getVersionedUserById(Long id) {
+        return userReadCache.getUser(id, () -> userRepository.findVersionedResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BatchUserResponse getUsersByIds(java.util.List<Long> ids) {
+        java.util.Set<Long> uniqueIds = new java.util.LinkedHashSet<>(ids);
+        java.util.Map<Long, UserResponse> found = new java.util.HashMap<>();
+        for (UserResponse user : userRepository.findResponsesByIdIn(uniqueIds)) {
+            found.put(user.getId(), user);
+        }
+        
+        java.util.List<UserResponse> users = new java.util.ArrayList<>(found.size());
+        java.util.List<Long> missingIds = new java.util.ArrayList<>();
+        for (Long id : uniqueIds) {
+            UserResponse user = found.get(id);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchUserResponse(users, missingIds);
+    }
+
+    @Override
+    public java.util.List<UserResponse> getUserList(int page, int size, String keyword, User.UserStatus status) {
+        // 关键词搜索的组合过多，不缓存
+        if (hasKeyword(keyword)) {
+            return userRepository.search(keyword, status, Math.max(page, 0) * size, size);
+        }
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), size);
+        return userReadCache.getUserPage(status, pageable.getPageNumber(), size, () -> status == null
+                ? userRepository.findResponses(pageable)
+                : userRepository.findResponsesByStatus(status, pageable));
     }
 
     @Override
-    public java.util.List<UserResponse> getUserList(int page, int size, String keyword) {
-        java.util.List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(this::convertToUserResponse)
-                .collect(java.util.stream.Collectors.toList());
+    public java.util.List<UserResponse> getUserListAfter(Long afterId, int size, String keyword,
+            User.UserStatus status) {
+        if (hasKeyword(keyword)) {
+            return userRepository.searchAfter(keyword, status, afterId, size);
+        }
+        return userReadCache.getUserPageAfter(status, afterId, size, () -> status == null
+                ? userRepository.findResponsesAfter(afterId, Limit.of(size))
+                : userRepository.findResponsesByStatusAfter(status, afterId, Limit.of(size)));
     }
 
     @Override
-    public long getUserCount(String keyword) {
-        return userRepository.count();
+    @Transactional(readOnly = true)
+    public long getUserCount(String keyword, User.UserStatus status) {
+        if (hasKeyword(keyword)) {
+            return userRepository.countSearch(keyword, status);
+        }
+        return status == null ? userRepository.count() : userRepository.countByStatus(status);
+    }
+
+    @Override
+    public long estimateUserCount(String keyword, User.UserStatus status) {
+        if (hasKeyword(keyword)) {
+            return getUserCount(keyword, status);
+        }
+        return userCountStore.getCount(status);
+    }
+
+    @Override
+    @Transactional
+    public UserResponse updateUserStatus(Long id, User.UserStatus status) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+
+        User.UserStatus previousStatus = user.getStatus();
+        if (previousStatus != status) {
+            user.setStatus(status);
+            // 立即刷新，事件携带递增后的版本号
+            userRepository.saveAndFlush(user);
+            eventPublisher.publishEvent(UserChangedEvent.statusChanged(user, previousStatus));
+        }
+
+        return convertToUserResponse(user);
+    }
+
+    private static boolean hasKeyword(String keyword) {
+        return keyword != null && !keyword.isBlank();
     }
 
     /**
@@ -0,0 +1,126 @@
+package com.example.infra.cache;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
+import com.example.core.repository.UserRepository;
+
+/**
+ * 用户数量计数
+ * 总数和各状态的数量在首次读取时从数据库加载，之后按用户新增、删除和状态变更事件增量维护，
+ * 并定期与数据库对账。其他节点上的变更要到下次对账才会反映，因此读数是近似值。
+ */
+@Component
+public class UserCountStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCountStore.class);
+
+    private final UserRepository userRepository;
+    private final AtomicLong total = new AtomicLong();
+    private final Map<User.UserStatus, AtomicLong> byStatus = new EnumMap<>(User.UserStatus.class);
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile boolean loaded;
+
+    public UserCountStore(UserRepository userRepository) {
+        this.userRepository = userRepository;
+        for (User.UserStatus status : User.UserStatus.values()) {
+            byStatus.put(status, new AtomicLong());
+        }
+    }
+
+    /**
+     * 获取用户数量
+     * @param status 用户状态，为null时返回总数
+     * @return 用户数量
+     */
+    public long getCount(User.UserStatus status) {
+        if (!loaded) {
+            reload();
+        }
+        return status == null ? total.get() : byStatus.get(status).get();
+    }
+
+    /**
+     * 事务提交后再计数，回滚的变更不影响读数
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (!loaded) {
+            // 尚未加载，首次读取时会从数据库取得最新值
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED -> {
+                total.incrementAndGet();
+                adjust(event.getStatus(), 1);
+            }
+            case DELETED -> {
+                total.decrementAndGet();
+                adjust(event.getStatus(), -1);
+            }
+            case STATUS_CHANGED -> {
+                adjust(event.getPreviousStatus(), -1);
+                adjust(event.getStatus(), 1);
+            }
+            default -> {
+                // 其他变更不影响数量
+            }
+        }
+    }
+
+    /**
+     * 定期与数据库对账，修正其他节点的变更和漏掉的事件
+     */
+    @Scheduled(initialDelayString = "${app.cache.user-count.reconcile-interval:5m}",
+            fixedDelayString = "${app.cache.user-count.reconcile-interval:5m}")
+    public void reconcile() {
+        if (loaded) {
+            long before = total.get();
+            reload();
+            if (before != total.get()) {
+                logger.debug("用户数量对账修正: {} -> {}", before, total.get());
+            }
+        }
+    }
+
+    private void reload() {
+        // 不用synchronized：Java 21的虚拟线程在synchronized块内阻塞于JDBC时会占住载体线程
+        reloadLock.lock();
+        try {
+            Map<User.UserStatus, Long> counts = new EnumMap<>(User.UserStatus.class);
+            List<Object[]> rows = userRepository.countGroupByStatus();
+            for (Object[] row : rows) {
+                counts.put((User.UserStatus) row[0], ((Number) row[1]).longValue());
+            }
+
+            long sum = 0;
+            for (User.UserStatus status : User.UserStatus.values()) {
+                long count = counts.getOrDefault(status, 0L);
+                byStatus.get(status).set(count);
+                sum += count;
+            }
+            total.set(sum);
+            loaded = true;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void adjust(User.UserStatus status, long delta) {
+        if (status != null) {
+            byStatus.get(status).addAndGet(delta);
+        }
+    }
+}
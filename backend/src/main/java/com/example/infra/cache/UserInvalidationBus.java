@@ -0,0 +1,119 @@
+package com.example.infra.cache;
+
+import java.util.UUID;
+
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
+import com.example.infra.redis.RedisPubSub;
+import com.example.infra.security.UserRevocationRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 跨节点的用户缓存失效广播
+ * 用户变更提交后通过Redis发布订阅广播（用户ID、版本号等），其他节点收到后失效本地的用户查找缓存、
+ * Hibernate二级缓存中的该用户，并登记用户级令牌撤销；Redis中的共享缓存已由变更节点删除。
+ * 订阅中断后恢复时，中断期间的广播可能已丢失，清空本节点全部本地用户缓存。
+ */
+@Component
+public class UserInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserInvalidationBus.class);
+
+    static final String CHANNEL = "user:changed";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final RedisPubSub redisPubSub;
+    private final ObjectMapper objectMapper;
+    private final UserLookupCache userLookupCache;
+    private final UserRevocationRegistry userRevocationRegistry;
+    private final Cache secondLevelCache;
+
+    public UserInvalidationBus(RedisPubSub redisPubSub, ObjectMapper objectMapper, UserLookupCache userLookupCache,
+            UserRevocationRegistry userRevocationRegistry, EntityManagerFactory entityManagerFactory) {
+        this.redisPubSub = redisPubSub;
+        this.objectMapper = objectMapper;
+        this.userLookupCache = userLookupCache;
+        this.userRevocationRegistry = userRevocationRegistry;
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    @PostConstruct
+    public void init() {
+        redisPubSub.subscribe(CHANNEL, this::onMessage);
+        // 订阅中断期间可能漏收广播
+        redisPubSub.onResubscribed(this::evictAllLocal);
+    }
+
+    /**
+     * 事务提交后广播，回滚的变更不通知其他节点
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        try {
+            redisPubSub.publish(CHANNEL, objectMapper.writeValueAsString(Message.of(nodeId, event)));
+        } catch (JsonProcessingException e) {
+            logger.warn("用户变更广播序列化失败: {}", event.getUserId(), e);
+        }
+    }
+
+    /**
+     * 清空本节点的全部本地用户缓存
+     */
+    public void evictAllLocal() {
+        userLookupCache.evictAllLocal();
+        secondLevelCache.evictEntityData(User.class);
+        secondLevelCache.evictNaturalIdData(User.class);
+        secondLevelCache.evictQueryRegion(User.QUERY_CACHE_REGION);
+        logger.info("已清空本地用户缓存");
+    }
+
+    void onMessage(String body) {
+        Message message;
+        try {
+            message = objectMapper.readValue(body, Message.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("用户变更广播反序列化失败: {}", body, e);
+            return;
+        }
+        if (nodeId.equals(message.node())) {
+            return;
+        }
+
+        UserChangedEvent event = message.toEvent();
+        userLookupCache.evictLocal(event.getUsername(), event.getEmail());
+        userRevocationRegistry.onUserChanged(event);
+        if (event.getUserId() != null) {
+            secondLevelCache.evictEntityData(User.class, event.getUserId());
+        }
+        // 邮箱可能已变更，按邮箱的查询结果一并失效
+        secondLevelCache.evictQueryRegion(User.QUERY_CACHE_REGION);
+        logger.debug("收到用户变更广播，已失效本地缓存: id={}, version={}, type={}",
+                event.getUserId(), event.getVersion(), event.getType());
+    }
+
+    /**
+     * 广播消息，node为发布节点，用于忽略本节点自己的广播
+     */
+    record Message(String node, Long userId, String username, String email, UserChangedEvent.ChangeType type,
+            User.UserStatus previousStatus, User.UserStatus status, long version, long occurredAt) {
+
+        static Message of(String node, UserChangedEvent event) {
+            return new Message(node, event.getUserId(), event.getUsername(), event.getEmail(), event.getType(),
+                    event.getPreviousStatus(), event.getStatus(), event.getVersion(), event.getOccurredAt());
+        }
+
+        UserChangedEvent toEvent() {
+            return new UserChangedEvent(userId, username, email, type, previousStatus, status, version, occurredAt);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.infra.cache;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.core.event.UserChangedEvent;
+import com.example.core.repository.UserRepository;
+import com.example.infra.config.UserCacheProperties;
+import com.example.infra.redis.RedisGuard;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 用户查找两级缓存：本地LRU -> Redis -> 数据库
+ * 键为小写的用户名或邮箱（与数据库不区分大小写的排序规则一致），
+ * 用户状态或密码变更后按用户名和邮箱显式失效。
+ * Redis中的快照不含密码哈希；认证需要哈希时只使用从数据库（二级缓存）加载的本地快照。
+ */
+@Component
+public class UserLookupCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserLookupCache.class);
+
+    private static final String REDIS_KEY_PREFIX = "user:lookup:";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserCacheProperties properties;
+    private final RedisGuard redisGuard;
+    private final Cache<String, UserSnapshot> localCache;
+
+    public UserLookupCache(UserRepository userRepository, StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper, UserCacheProperties properties, RedisGuard redisGuard) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.redisGuard = redisGuard;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaxSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .build();
+    }
+
+    /**
+     * 根据用户名或邮箱查找用户
+     * @param usernameOrEmail 用户名或邮箱
+     * @return 用户快照
+     */
+    public Optional<UserSnapshot> findByUsernameOrEmail(String usernameOrEmail) {
+        if (!properties.isEnabled() || usernameOrEmail == null) {
+            return userRepository.findByUsernameOrEmail(usernameOrEmail).map(UserSnapshot::from);
+        }
+
+        String key = normalize(usernameOrEmail);
+        UserSnapshot snapshot = localCache.getIfPresent(key);
+        if (snapshot != null) {
+            return Optional.of(snapshot);
+        }
+
+        snapshot = readFromRedis(key);
+        if (snapshot == null) {
+            return load(key, usernameOrEmail);
+        }
+
+        localCache.put(key, snapshot);
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * 查找用于认证的用户，结果包含密码哈希
+     * 本地快照带哈希时直接返回，否则跳过Redis从数据库（二级缓存）加载并替换本地快照
+     * @param usernameOrEmail 用户名或邮箱
+     * @return 用户快照
+     */
+    public Optional<UserSnapshot> findForAuthentication(String usernameOrEmail) {
+        if (!properties.isEnabled() || usernameOrEmail == null) {
+            return userRepository.findByUsernameOrEmail(usernameOrEmail).map(UserSnapshot::from);
+        }
+
+        String key = normalize(usernameOrEmail);
+        UserSnapshot snapshot = localCache.getIfPresent(key);
+        if (snapshot != null && snapshot.getPassword() != null) {
+            return Optional.of(snapshot);
+        }
+        return load(key, usernameOrEmail);
+    }
+
+    /**
+     * 只查本地缓存，不访问Redis和数据库，供非阻塞调用方使用
+     * @param usernameOrEmail 用户名或邮箱
+     * @return 用户快照，未命中时为空
+     */
+    public Optional<UserSnapshot> findCached(String usernameOrEmail) {
+        if (!properties.isEnabled() || usernameOrEmail == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(localCache.getIfPresent(normalize(usernameOrEmail)));
+    }
+
+    /**
+     * 失效指定用户的缓存
+     * @param username 用户名
+     * @param email 邮箱
+     */
+    public void evict(String username, String email) {
+        if (username != null) {
+            evictKey(normalize(username));
+        }
+        if (email != null) {
+            evictKey(normalize(email));
+        }
+    }
+
+    /**
+     * 只失效本节点的本地缓存，用于其他节点广播的变更（Redis中的条目已由变更节点删除）
+     * @param username 用户名
+     * @param email 邮箱
+     */
+    public void evictLocal(String username, String email) {
+        if (username != null) {
+            localCache.invalidate(normalize(username));
+        }
+        if (email != null) {
+            localCache.invalidate(normalize(email));
+        }
+    }
+
+    /**
+     * 清空本地缓存
+     */
+    public void evictAllLocal() {
+        localCache.invalidateAll();
+    }
+
+    /**
+     * 事务提交后再失效，避免并发读取在提交前把旧数据重新写回缓存
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getUsername(), event.getEmail());
+    }
+
+    private void evictKey(String key) {
+        localCache.invalidate(key);
+        if (redisAvailable()) {
+            try {
+                redisTemplate.delete(REDIS_KEY_PREFIX + key);
+            } catch (DataAccessException e) {
+                redisGuard.markUnavailable(e);
+            }
+        }
+    }
+
+    private Optional<UserSnapshot> load(String key, String usernameOrEmail) {
+        Optional<UserSnapshot> snapshot = userRepository.findByUsernameOrEmail(usernameOrEmail)
+                .map(UserSnapshot::from);
+        snapshot.ifPresent(user -> {
+            writeToRedis(key, user);
+            localCache.put(key, user);
+        });
+        return snapshot;
+    }
+
+    private UserSnapshot readFromRedis(String key) {
+        if (!redisAvailable()) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + key);
+            return json == null ? null : objectMapper.readValue(json, UserSnapshot.class);
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+        } catch (JsonProcessingException e) {
+            logger.warn("用户缓存反序列化失败: {}", key, e);
+        }
+        return null;
+    }
+
+    private void writeToRedis(String key, UserSnapshot snapshot) {
+        if (!redisAvailable()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + key,
+                    objectMapper.writeValueAsString(snapshot), properties.getRedisTtl());
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+        } catch (JsonProcessingException e) {
+            logger.warn("用户缓存序列化失败: {}", key, e);
+        }
+    }
+
+    private boolean redisAvailable() {
+        return properties.isRedisEnabled() && redisGuard.isAvailable();
+    }
+
+    private static String normalize(String usernameOrEmail) {
+        return usernameOrEmail.toLowerCase(Locale.ROOT);
+    }
+}
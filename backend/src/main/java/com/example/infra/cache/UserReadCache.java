@@ -0,0 +1,401 @@
+package com.example.infra.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
+import com.example.core.repository.VersionedUserResponse;
+import com.example.infra.config.UserReadCacheProperties;
+import com.example.infra.redis.RedisGuard;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 用户读缓存（Redis，cache-aside）：按ID查询的用户和列表分页
+ * 每个值带新鲜期，新鲜期按比例随机浮动，避免同批写入的键同时过期；新鲜期过后的读取先返回旧值，
+ * 由后台线程刷新（跨节点用Redis锁保证同一键只有一个节点刷新）；完全未命中时同一节点内同一键只有一个线程查询数据库，
+ * 其余线程等待其结果。
+ * 单个用户按ID缓存，值带版本号，命中时不访问数据库。用户变更提交后先记下变更后的版本号（版本下限）再删除键；
+ * 加载到的行低于版本下限时（变更前发起的慢查询或从延迟副本读到的旧行）照常返回但不写入缓存。
+ * 用户变更后递增列表代数使所有列表分页失效，旧代数的键随过期时间清除。
+ */
+@Component
+public class UserReadCache implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserReadCache.class);
+
+    private static final String REDIS_KEY_PREFIX = "user:read:";
+    private static final String LIST_GENERATION_KEY = REDIS_KEY_PREFIX + "list:generation";
+    private static final String LOCK_KEY_PREFIX = REDIS_KEY_PREFIX + "lock:";
+    private static final String MIN_VERSION_SUFFIX = ":min-version";
+    private static final int REFRESH_QUEUE_CAPACITY = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserReadCacheProperties properties;
+    private final RedisGuard redisGuard;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final ConcurrentMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private final Meters userMeters;
+    private final Meters listMeters;
+    private final JavaType userType;
+    private final JavaType listType;
+
+    public UserReadCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+            UserReadCacheProperties properties, RedisGuard redisGuard, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.redisGuard = redisGuard;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.userMeters = new Meters(registry, "user");
+        this.listMeters = new Meters(registry, "user-list");
+        this.userType = objectMapper.getTypeFactory().constructParametricType(CachedValue.class,
+                VersionedUserResponse.class);
+        this.listType = objectMapper.getTypeFactory().constructParametricType(CachedValue.class,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, UserResponse.class));
+
+        int threads = Math.max(properties.getRefreshThreads(), 1);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 按ID读取用户
+     * @param id 用户ID
+     * @param loader 未命中或刷新时查询数据库，用户不存在时抛出异常（不缓存）
+     * @return 带版本的用户
+     */
+    public VersionedUserResponse getUser(Long id, Supplier<VersionedUserResponse> loader) {
+        String key = userKey(id);
+        return get(key, userType, loader, userMeters,
+                user -> user.getVersion() >= minVersion(REDIS_KEY_PREFIX + key + MIN_VERSION_SUFFIX));
+    }
+
+    /**
+     * 失效单个用户：先记下版本下限，再删除缓存的值
+     * @param id 用户ID
+     * @param version 变更后的版本号
+     */
+    public void evictUser(Long id, long version) {
+        if (!enabled()) {
+            return;
+        }
+        String redisKey = REDIS_KEY_PREFIX + userKey(id);
+        try {
+            // 版本下限保留到缓存值可能存活的最长时间（浮动比例不超过1）
+            redisTemplate.opsForValue().set(redisKey + MIN_VERSION_SUFFIX, String.valueOf(version),
+                    properties.getTtl().multipliedBy(2).plus(properties.getStaleTtl()));
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+        }
+        delete(redisKey);
+    }
+
+    /**
+     * 按页码读取用户列表
+     * @param status 状态，null表示全部
+     * @param page 页码
+     * @param size 每页条数
+     * @param loader 查询数据库
+     * @return 用户列表
+     */
+    public List<UserResponse> getUserPage(User.UserStatus status, int page, int size,
+            Supplier<List<UserResponse>> loader) {
+        if (!enabled()) {
+            return loader.get();
+        }
+        return get(listKey(status) + ":page:" + page + ":" + size, listType, loader, listMeters);
+    }
+
+    /**
+     * 按游标读取用户列表
+     * @param status 状态，null表示全部
+     * @param afterId 上一页最后一条的ID
+     * @param size 每页条数
+     * @param loader 查询数据库
+     * @return 用户列表
+     */
+    public List<UserResponse> getUserPageAfter(User.UserStatus status, Long afterId, int size,
+            Supplier<List<UserResponse>> loader) {
+        if (!enabled()) {
+            return loader.get();
+        }
+        return get(listKey(status) + ":after:" + afterId + ":" + size, listType, loader, listMeters);
+    }
+
+    /**
+     * 失效所有列表分页
+     */
+    public void evictLists() {
+        if (!enabled()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().increment(LIST_GENERATION_KEY);
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+        }
+    }
+
+    /**
+     * 事务提交后再失效，避免并发读取在提交前把旧数据重新写回缓存
+     * 密码变更也会递增版本号，单个用户一并失效；仅密码变更不影响缓存的列表
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getUserId() != null) {
+            evictUser(event.getUserId(), event.getVersion());
+        }
+        if (event.getType() == UserChangedEvent.ChangeType.PASSWORD_CHANGED) {
+            return;
+        }
+        evictLists();
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private <T> T get(String key, JavaType type, Supplier<T> loader, Meters meters) {
+        return get(key, type, loader, meters, value -> true);
+    }
+
+    /**
+     * @param cacheable 加载到的值是否可以写入缓存
+     */
+    private <T> T get(String key, JavaType type, Supplier<T> loader, Meters meters, Predicate<T> cacheable) {
+        if (!enabled()) {
+            return loader.get();
+        }
+        String redisKey = REDIS_KEY_PREFIX + key;
+        CachedValue<T> cached = read(redisKey, type);
+        if (cached == null) {
+            meters.misses.increment();
+            return load(redisKey, loader, meters, cacheable);
+        }
+        if (System.currentTimeMillis() < cached.freshUntil()) {
+            meters.hits.increment();
+        } else {
+            meters.stale.increment();
+            refreshInBackground(redisKey, loader, meters, cacheable);
+        }
+        return cached.value();
+    }
+
+    /**
+     * 同一节点内同一键只有一个线程查询数据库，其余线程等待结果；加载函数返回null或值不可缓存时不写入
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T load(String redisKey, Supplier<T> loader, Meters meters, Predicate<T> cacheable) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loading.putIfAbsent(redisKey, future);
+        if (existing != null) {
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        try {
+            T value = meters.loadTime.record(loader);
+            if (value != null && cacheable.test(value)) {
+                write(redisKey, value);
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(redisKey, future);
+        }
+    }
+
+    /**
+     * 跨节点用Redis锁保证只有一个节点刷新；拿不到锁、已在刷新或队列已满时直接返回，本次读取仍使用旧值
+     */
+    private <T> void refreshInBackground(String redisKey, Supplier<T> loader, Meters meters,
+            Predicate<T> cacheable) {
+        if (loading.containsKey(redisKey)) {
+            return;
+        }
+        String lockKey = LOCK_KEY_PREFIX + redisKey;
+        try {
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(lockKey, "1",
+                    properties.getRefreshLockTimeout());
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(redisKey, loader, meters, cacheable);
+                } catch (RuntimeException e) {
+                    logger.debug("用户缓存刷新失败，继续使用旧值直到过期: {}", redisKey, e);
+                } finally {
+                    delete(lockKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            delete(lockKey);
+        }
+    }
+
+    private static String userKey(Long id) {
+        return "id:" + id;
+    }
+
+    /**
+     * 读取版本下限，没有记录或Redis不可用时不限制
+     */
+    private long minVersion(String minVersionKey) {
+        try {
+            String version = redisTemplate.opsForValue().get(minVersionKey);
+            return version == null ? Long.MIN_VALUE : Long.parseLong(version);
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private String listKey(User.UserStatus status) {
+        String generation = null;
+        try {
+            generation = redisTemplate.opsForValue().get(LIST_GENERATION_KEY);
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+        }
+        return "list:" + (generation == null ? "0" : generation) + ":" + (status == null ? "all" : status.name());
+    }
+
+    private <T> CachedValue<T> read(String redisKey, JavaType type) {
+        if (!redisGuard.isAvailable()) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(redisKey);
+            return json == null ? null : objectMapper.readValue(json, type);
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+        } catch (JsonProcessingException e) {
+            logger.warn("用户缓存反序列化失败: {}", redisKey, e);
+        }
+        return null;
+    }
+
+    private void write(String redisKey, Object value) {
+        if (!redisGuard.isAvailable()) {
+            return;
+        }
+        long ttlMillis = properties.getTtl().toMillis();
+        long jitterMillis = (long) (ttlMillis * properties.getJitter());
+        long freshMillis = ttlMillis + (jitterMillis > 0
+                ? ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1)
+                : 0);
+        try {
+            String json = objectMapper.writeValueAsString(
+                    new CachedValue<>(System.currentTimeMillis() + freshMillis, value));
+            redisTemplate.opsForValue().set(redisKey, json,
+                    Duration.ofMillis(freshMillis).plus(properties.getStaleTtl()));
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+        } catch (JsonProcessingException e) {
+            logger.warn("用户缓存序列化失败: {}", redisKey, e);
+        }
+    }
+
+    private void delete(String redisKey) {
+        if (!enabled()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(redisKey);
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+        }
+    }
+
+    private boolean enabled() {
+        return properties.isEnabled() && redisGuard.isAvailable();
+    }
+
+    /**
+     * 缓存的值及其新鲜期截止时间（毫秒）
+     */
+    record CachedValue<T>(long freshUntil, T value) {
+    }
+
+    /**
+     * 单个缓存的命中、旧值、未命中次数和加载耗时
+     */
+    private static final class Meters {
+
+        private final Counter hits;
+        private final Counter stale;
+        private final Counter misses;
+        private final Timer loadTime;
+
+        private Meters(MeterRegistry registry, String cache) {
+            this.hits = requests(registry, cache, "hit");
+            this.stale = requests(registry, cache, "stale");
+            this.misses = requests(registry, cache, "miss");
+            this.loadTime = Timer.builder("user.read.cache.load")
+                    .description("未命中或刷新时查询数据库的耗时")
+                    .tag("cache", cache)
+                    .register(registry);
+        }
+
+        private static Counter requests(MeterRegistry registry, String cache, String result) {
+            return Counter.builder("user.read.cache.requests")
+                    .description("用户读缓存请求数，stale表示返回旧值并触发后台刷新")
+                    .tag("cache", cache)
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+}
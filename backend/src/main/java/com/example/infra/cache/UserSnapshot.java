@@ -0,0 +1,109 @@
+package com.example.infra.cache;
+
+import java.util.List;
+
+import com.example.core.entity.Role;
+import com.example.core.entity.User;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 用户缓存快照
+ * 不可变，可安全地在线程间共享并序列化到Redis。
+ * 密码哈希不参与序列化，只存在于从数据库加载的本地快照中；从Redis读出的快照没有哈希。
+ * 忽略未知字段，旧版本写入Redis的快照中的哈希在读取时丢弃。
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class UserSnapshot {
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final String email;
+    private final String phone;
+    private final String nickname;
+    private final User.UserStatus status;
+    private final List<String> roles;
+
+    @JsonCreator
+    UserSnapshot(@JsonProperty("id") Long id,
+            @JsonProperty("username") String username,
+            @JsonProperty("email") String email,
+            @JsonProperty("phone") String phone,
+            @JsonProperty("nickname") String nickname,
+            @JsonProperty("status") User.UserStatus status,
+            @JsonProperty("roles") List<String> roles) {
+        this(id, username, null, email, phone, nickname, status, roles);
+    }
+
+    public UserSnapshot(Long id, String username, String password, String email, String phone, String nickname,
+            User.UserStatus status, List<String> roles) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.email = email;
+        this.phone = phone;
+        this.nickname = nickname;
+        this.status = status;
+        // 角色字段加入前写入Redis的快照没有角色，按普通用户处理
+        this.roles = roles == null || roles.isEmpty() ? List.of(Role.USER) : List.copyOf(roles);
+    }
+
+    public static UserSnapshot from(User user) {
+        return new UserSnapshot(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getEmail(),
+                user.getPhone(),
+                user.getNickname(),
+                user.getStatus(),
+                user.getRoles().stream()
+                        .map(Role::getName)
+                        .sorted()
+                        .toList());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * 密码哈希，只有从数据库加载的快照才有
+     * @return 密码哈希，来自Redis的快照为null
+     */
+    @JsonIgnore
+    public String getPassword() {
+        return password;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public User.UserStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * 角色名称，没有分配角色的用户为ROLE_USER
+     * @return 角色名称
+     */
+    public List<String> getRoles() {
+        return roles;
+    }
+}
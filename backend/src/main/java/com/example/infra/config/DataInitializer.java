@@ -1,40 +1,91 @@
 package com.example.infra.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.core.entity.Role;
 import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
+import com.example.core.repository.RoleRepository;
 import com.example.core.repository.UserRepository;
 
+/**
+ * 启动时初始化基础数据
+ * 角色和管理员的角色分配每次启动都核对，与用户数据是否已存在无关，可重复执行；
+ * 测试用户只在用户表为空时创建。
+ */
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
+
+    /**
+     * 持有管理员角色的内置用户
+     */
+    static final String ADMIN_USERNAME = "admin";
+
     private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public DataInitializer(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public DataInitializer(UserRepository userRepository, RoleRepository roleRepository,
+            PasswordEncoder passwordEncoder, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
+        // 与database/init.sql一致的基础角色
+        Role admin = ensureRole(Role.ADMIN, "管理员角色");
+        ensureRole(Role.USER, "普通用户角色");
+
         // 检查是否已有用户数据
         if (userRepository.count() == 0) {
             createTestUsers();
         }
+        ensureAdminRole(admin);
+    }
+
+    private Role ensureRole(String name, String description) {
+        return roleRepository.findByName(name)
+                .orElseGet(() -> roleRepository.save(new Role(name, description)));
+    }
+
+    /**
+     * 已有的admin用户缺少管理员角色时补上，例如角色表晚于用户数据创建的库
+     */
+    private void ensureAdminRole(Role admin) {
+        userRepository.findByUsername(ADMIN_USERNAME)
+                .filter(user -> user.getRoles().stream().noneMatch(role -> Role.ADMIN.equals(role.getName())))
+                .ifPresent(user -> {
+                    user.getRoles().add(admin);
+                    // 刷新后版本号已递增，缓存按事件中的版本号失效
+                    userRepository.saveAndFlush(user);
+                    eventPublisher.publishEvent(UserChangedEvent.of(user, UserChangedEvent.ChangeType.UPDATED));
+                    logger.info("已为用户{}补充角色{}", ADMIN_USERNAME, Role.ADMIN);
+                });
     }
 
     private void createTestUsers() {
         // 创建测试用户1 - 可以用用户名登录
         User user1 = new User();
-        user1.setUsername("admin");
+        user1.setUsername(ADMIN_USERNAME);
         user1.setEmail("admin@example.com");
         user1.setPassword(passwordEncoder.encode("password123"));
         user1.setNickname("管理员");
         user1.setStatus(User.UserStatus.ACTIVE);
         userRepository.save(user1);
+        eventPublisher.publishEvent(UserChangedEvent.of(user1, UserChangedEvent.ChangeType.CREATED));
 
         // 创建测试用户2 - 可以用邮箱登录
         User user2 = new User();
@@ -44,6 +95,7 @@ public class DataInitializer implements CommandLineRunner {
         user2.setNickname("测试用户");
         user2.setStatus(User.UserStatus.ACTIVE);
         userRepository.save(user2);
+        eventPublisher.publishEvent(UserChangedEvent.of(user2, UserChangedEvent.ChangeType.CREATED));
 
         // 创建测试用户3 - 演示用户
         User user3 = new User();
@@ -53,9 +105,10 @@ public class DataInitializer implements CommandLineRunner {
         user3.setNickname("演示用户");
         user3.setStatus(User.UserStatus.ACTIVE);
         userRepository.save(user3);
+        eventPublisher.publishEvent(UserChangedEvent.of(user3, UserChangedEvent.ChangeType.CREATED));
 
         System.out.println("=== 测试用户已创建 ===");
-        System.out.println("用户1: 用户名=admin, 邮箱=admin@example.com, 密码=password123");
+        System.out.println("用户1: 用户名=admin, 邮箱=admin@example.com, 密码=password123（管理员）");
         System.out.println("用户2: 用户名=testuser, 邮箱=test@example.com, 密码=password123");
         System.out.println("用户3: 用户名=demo, 邮箱=demo@example.com, 密码=demo123");
         System.out.println("现在可以使用用户名或邮箱进行登录测试！");
@@ -20,11 +20,26 @@ public class JwtProperties {
      */
     private int expiration;
 
+    /**
+     * 刷新令牌过期时间（秒）
+     */
+    private long refreshExpiration = 604800;
+
     /**
      * JWT请求头名称
      */
     private String header;
 
+    /**
+     * 已验签令牌缓存的最大条目数
+     */
+    private int cacheSize = 10000;
+
+    /**
+     * 是否启用无状态主体：令牌内嵌用户ID、状态和权限，认证时不再查询数据库
+     */
+    private boolean statelessPrincipal = false;
+
     public String getSecret() {
         return secret;
     }
@@ -41,6 +56,14 @@ public class JwtProperties {
         this.expiration = expiration;
     }
 
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    public void setRefreshExpiration(long refreshExpiration) {
+        this.refreshExpiration = refreshExpiration;
+    }
+
     public String getHeader() {
         return header;
     }
@@ -48,4 +71,20 @@ public class JwtProperties {
     public void setHeader(String header) {
         this.header = header;
     }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public boolean isStatelessPrincipal() {
+        return statelessPrincipal;
+    }
+
+    public void setStatelessPrincipal(boolean statelessPrincipal) {
+        this.statelessPrincipal = statelessPrincipal;
+    }
 }
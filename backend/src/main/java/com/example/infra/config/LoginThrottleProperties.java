@@ -0,0 +1,118 @@
+package com.example.infra.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 登录限流配置属性类
+ */
+@Component
+@ConfigurationProperties(prefix = "app.security.login-throttle")
+public class LoginThrottleProperties {
+
+    /**
+     * 是否启用登录限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 同一用户名允许的连续失败次数，超出后开始退避
+     */
+    private int maxUsernameFailures = 5;
+
+    /**
+     * 同一IP允许的失败次数，超出后开始退避
+     */
+    private int maxIpFailures = 20;
+
+    /**
+     * 失败计数的统计窗口
+     */
+    private Duration window = Duration.ofMinutes(15);
+
+    /**
+     * 首次退避时长，之后每多失败一次翻倍
+     */
+    private Duration baseBackoff = Duration.ofSeconds(1);
+
+    /**
+     * 最长退避时长
+     */
+    private Duration maxBackoff = Duration.ofMinutes(15);
+
+    /**
+     * 本地计数器最大条目数
+     */
+    private int localMaxSize = 100000;
+
+    /**
+     * 是否通过Redis在多个节点间同步计数
+     */
+    private boolean redisEnabled = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxUsernameFailures() {
+        return maxUsernameFailures;
+    }
+
+    public void setMaxUsernameFailures(int maxUsernameFailures) {
+        this.maxUsernameFailures = maxUsernameFailures;
+    }
+
+    public int getMaxIpFailures() {
+        return maxIpFailures;
+    }
+
+    public void setMaxIpFailures(int maxIpFailures) {
+        this.maxIpFailures = maxIpFailures;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getBaseBackoff() {
+        return baseBackoff;
+    }
+
+    public void setBaseBackoff(Duration baseBackoff) {
+        this.baseBackoff = baseBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public int getLocalMaxSize() {
+        return localMaxSize;
+    }
+
+    public void setLocalMaxSize(int localMaxSize) {
+        this.localMaxSize = localMaxSize;
+    }
+
+    public boolean isRedisEnabled() {
+        return redisEnabled;
+    }
+
+    public void setRedisEnabled(boolean redisEnabled) {
+        this.redisEnabled = redisEnabled;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.infra.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密码哈希配置属性类
+ */
+@Component
+@ConfigurationProperties(prefix = "app.security.password")
+public class PasswordProperties {
+
+    /**
+     * 哈希线程数，默认等于CPU核数
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 等待哈希的最大排队数，超出后立即拒绝
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 单次哈希（含排队）的最长等待时间
+     */
+    private Duration waitTimeout = Duration.ofSeconds(5);
+
+    /**
+     * BCrypt强度，0表示启动时按目标耗时自动校准。
+     * 多节点部署时各节点校准结果可能不同，应配置固定值使全集群一致
+     */
+    private int strength = 0;
+
+    /**
+     * 自动校准时单次哈希的目标耗时
+     */
+    private Duration targetHashTime = Duration.ofMillis(250);
+
+    /**
+     * 自动校准的最小强度
+     */
+    private int minStrength = 10;
+
+    /**
+     * 自动校准的最大强度
+     */
+    private int maxStrength = 14;
+
+    /**
+     * 自动校准的测量次数，取耗时中位数
+     */
+    private int calibrationSamples = 5;
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public void setStrength(int strength) {
+        this.strength = strength;
+    }
+
+    public Duration getTargetHashTime() {
+        return targetHashTime;
+    }
+
+    public void setTargetHashTime(Duration targetHashTime) {
+        this.targetHashTime = targetHashTime;
+    }
+
+    public int getMinStrength() {
+        return minStrength;
+    }
+
+    public void setMinStrength(int minStrength) {
+        this.minStrength = minStrength;
+    }
+
+    public int getMaxStrength() {
+        return maxStrength;
+    }
+
+    public void setMaxStrength(int maxStrength) {
+        this.maxStrength = maxStrength;
+    }
+
+    public int getCalibrationSamples() {
+        return calibrationSamples;
+    }
+
+    public void setCalibrationSamples(int calibrationSamples) {
+        this.calibrationSamples = calibrationSamples;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.infra.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户响应式读取（R2DBC）配置属性类
+ * 连接池独立于JDBC连接池，两者连接数之和不应超过数据库的承载能力。
+ */
+@Component
+@ConfigurationProperties(prefix = "app.reactive.user-read")
+public class ReactiveUserReadProperties {
+
+    /**
+     * 是否启用/reactive下的非阻塞用户查询接口
+     */
+    private boolean enabled = false;
+
+    /**
+     * R2DBC连接URL，如r2dbc:mysql://localhost:3306/duo_db
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * 连接池最大连接数；请求在等待连接时不占用线程
+     */
+    private int maxSize = 10;
+
+    /**
+     * 获取连接的最长等待时间，超时的请求失败而不是无限排队
+     */
+    private Duration maxAcquireTime = Duration.ofSeconds(3);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getMaxAcquireTime() {
+        return maxAcquireTime;
+    }
+
+    public void setMaxAcquireTime(Duration maxAcquireTime) {
+        this.maxAcquireTime = maxAcquireTime;
+    }
+}
@@ -1,43 +1,92 @@
 package com.example.infra.config;
 
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.example.core.entity.Role;
+import com.example.infra.security.BoundedPasswordEncoder;
 import com.example.infra.security.JwtAuthenticationFilter;
+import com.example.infra.security.PasswordHashCalibrator;
+import com.example.infra.security.TimedDaoAuthenticationProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.DispatcherType;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * hasRole使用的角色名，对应权限ROLE_ADMIN
+     */
+    private static final String ADMIN = Role.ADMIN.substring("ROLE_".length());
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    private final PasswordProperties passwordProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
-            UserDetailsService userDetailsService) {
+            UserDetailsService userDetailsService,
+            UserDetailsPasswordService userDetailsPasswordService,
+            PasswordProperties passwordProperties,
+            ObjectProvider<MeterRegistry> meterRegistry) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.userDetailsService = userDetailsService;
+        this.userDetailsPasswordService = userDetailsPasswordService;
+        this.passwordProperties = passwordProperties;
+        this.meterRegistry = meterRegistry;
     }
 
+    /**
+     * 密码编码器
+     * 新哈希统一带{bcrypt}前缀，历史无前缀的哈希仍按BCrypt校验；
+     * 所有哈希运算在有界线程池上执行。
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = passwordProperties.getStrength() > 0
+                ? passwordProperties.getStrength()
+                : PasswordHashCalibrator.calibrate(passwordProperties.getTargetHashTime(),
+                        passwordProperties.getMinStrength(), passwordProperties.getMaxStrength(),
+                        passwordProperties.getCalibrationSamples());
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(delegating, passwordProperties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
+        DaoAuthenticationProvider authProvider = new TimedDaoAuthenticationProvider(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // 登录成功后将强度不足或旧格式的哈希升级为当前配置
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -52,10 +101,16 @@ public class SecurityConfig {
                 .cors(cors -> cors.and())
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // 未认证（含访问令牌过期）返回401，前端据此用刷新令牌续期；已认证但无权限仍为403
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authenticationManager(authenticationManager())
                 .authorizeHttpRequests(authz -> authz
+                        // 异步请求（/reactive接口）结果派发回容器时，首次派发已完成鉴权
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // 认证接口
-                        .requestMatchers("/auth/login", "/auth/validate").permitAll()
+                        .requestMatchers("/auth/login", "/auth/validate", "/auth/refresh", "/auth/logout").permitAll()
 
                         // 静态资源
                         .requestMatchers("/", "/login", "/static/**", "/assets/**", "/*.js", "/*.css", "/*.ico",
@@ -68,6 +123,16 @@ public class SecurityConfig {
                         // Swagger文档（开发环境）
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
 
+                        // 管理操作：修改状态会使该用户的令牌失效
+                        .requestMatchers(HttpMethod.PUT, "/users/*/status").hasRole(ADMIN)
+                        // 运维导出：包含全部用户的邮箱和手机号
+                        .requestMatchers(HttpMethod.GET, "/users/export").hasRole(ADMIN)
+                        // 批量导入：可指定任意状态，并占用导入哈希线程池和唯一的导入名额
+                        .requestMatchers(HttpMethod.POST, "/users/import").hasRole(ADMIN)
+
+                        // 健康检查和指标采集，仅在不对外暴露的管理端口上提供
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+
                         // 其他接口需要认证
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
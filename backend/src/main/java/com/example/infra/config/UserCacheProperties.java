@@ -0,0 +1,79 @@
+package com.example.infra.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户缓存配置属性类
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cache.user")
+public class UserCacheProperties {
+
+    /**
+     * 是否启用用户缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 本地缓存最大条目数
+     */
+    private int localMaxSize = 10000;
+
+    /**
+     * 本地缓存存活时间，同时也是其他节点上锁定用户被拒绝的最长延迟
+     */
+    private Duration localTtl = Duration.ofSeconds(30);
+
+    /**
+     * 是否启用Redis二级缓存
+     */
+    private boolean redisEnabled = true;
+
+    /**
+     * Redis缓存存活时间
+     */
+    private Duration redisTtl = Duration.ofMinutes(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getLocalMaxSize() {
+        return localMaxSize;
+    }
+
+    public void setLocalMaxSize(int localMaxSize) {
+        this.localMaxSize = localMaxSize;
+    }
+
+    public Duration getLocalTtl() {
+        return localTtl;
+    }
+
+    public void setLocalTtl(Duration localTtl) {
+        this.localTtl = localTtl;
+    }
+
+    public boolean isRedisEnabled() {
+        return redisEnabled;
+    }
+
+    public void setRedisEnabled(boolean redisEnabled) {
+        this.redisEnabled = redisEnabled;
+    }
+
+    public Duration getRedisTtl() {
+        return redisTtl;
+    }
+
+    public void setRedisTtl(Duration redisTtl) {
+        this.redisTtl = redisTtl;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户批量导入配置属性类
+ */
+@Component
+@ConfigurationProperties(prefix = "app.import.user")
+public class UserImportProperties {
+
+    /**
+     * 每条多行INSERT写入的行数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 导入专用的哈希线程数，0表示CPU核数的一半，为登录哈希保留余量
+     */
+    private int hashThreads = 0;
+
+    /**
+     * 结果中返回的行错误上限，超出后只计数
+     */
+    private int maxErrors = 1000;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getHashThreads() {
+        return hashThreads;
+    }
+
+    public void setHashThreads(int hashThreads) {
+        this.hashThreads = hashThreads;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public void setMaxErrors(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+}
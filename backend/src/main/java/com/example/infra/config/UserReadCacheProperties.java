@@ -0,0 +1,92 @@
+package com.example.infra.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户读缓存配置属性类（Redis，按ID查询和列表分页）
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cache.user-read")
+public class UserReadCacheProperties {
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓存新鲜期，过后的读取返回旧值并在后台刷新
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * 新鲜期的随机浮动比例，避免同时写入的键同时过期
+     */
+    private double jitter = 0.2;
+
+    /**
+     * 新鲜期过后仍可返回旧值的时长，超过后Redis删除该键
+     */
+    private Duration staleTtl = Duration.ofMinutes(1);
+
+    /**
+     * 后台刷新线程数
+     */
+    private int refreshThreads = 2;
+
+    /**
+     * 跨节点刷新锁的持有上限，应大于一次查询的耗时
+     */
+    private Duration refreshLockTimeout = Duration.ofSeconds(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+
+    public Duration getStaleTtl() {
+        return staleTtl;
+    }
+
+    public void setStaleTtl(Duration staleTtl) {
+        this.staleTtl = staleTtl;
+    }
+
+    public int getRefreshThreads() {
+        return refreshThreads;
+    }
+
+    public void setRefreshThreads(int refreshThreads) {
+        this.refreshThreads = refreshThreads;
+    }
+
+    public Duration getRefreshLockTimeout() {
+        return refreshLockTimeout;
+    }
+
+    public void setRefreshLockTimeout(Duration refreshLockTimeout) {
+        this.refreshLockTimeout = refreshLockTimeout;
+    }
+}
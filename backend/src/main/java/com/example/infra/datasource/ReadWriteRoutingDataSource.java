@@ -0,0 +1,56 @@
+package com.example.infra.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 读写分离数据源
+ * 物理连接推迟到第一条语句时才获取，此时只读事务已把连接标记为只读，据此从副本取连接，其余从主库取；
+ * 读写事务提交后记录当前用户，窗口期内其只读事务也走主库。
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaRoutingDataSource replicas,
+            ReadYourWritesTracker readYourWritesTracker) {
+        super(new WriteTrackingDataSource(primary, readYourWritesTracker));
+        setReadOnlyDataSource(replicas);
+    }
+
+    /**
+     * 在读写事务中取主库连接时登记提交回调
+     */
+    private static final class WriteTrackingDataSource extends DelegatingDataSource {
+
+        private final ReadYourWritesTracker readYourWritesTracker;
+
+        private WriteTrackingDataSource(DataSource primary, ReadYourWritesTracker readYourWritesTracker) {
+            super(primary);
+            this.readYourWritesTracker = readYourWritesTracker;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            if (TransactionSynchronizationManager.isSynchronizationActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                String username = readYourWritesTracker.currentUser();
+                if (username != null) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            readYourWritesTracker.recordWrite(username);
+                        }
+                    });
+                }
+            }
+            return connection;
+        }
+    }
+}
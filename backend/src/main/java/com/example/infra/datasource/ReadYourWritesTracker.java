@@ -0,0 +1,60 @@
+package com.example.infra.datasource;
+
+import java.time.Duration;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 读己之写：记录最近写入过的用户，在窗口期内其只读事务仍走主库，避免读到复制延迟前的旧数据
+ * 按认证用户名记录，仅在本节点生效；匿名请求不记录。
+ */
+public class ReadYourWritesTracker {
+
+    private static final int MAX_USERS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(MAX_USERS)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * 当前认证用户，匿名时为null
+     * @return 用户名
+     */
+    public String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * 记录用户的一次写入，窗口期从此刻重新计算
+     * @param username 用户名，为null时忽略
+     */
+    public void recordWrite(String username) {
+        if (username != null) {
+            recentWriters.put(username, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 当前用户是否处于写后窗口期
+     * @return 是否应读主库
+     */
+    public boolean isCurrentUserPinned() {
+        String username = currentUser();
+        return username != null && recentWriters.getIfPresent(username) != null;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.infra.datasource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * 只读连接的数据源：在健康的副本间轮询，副本全部不可用或当前用户刚写入过时回退到主库
+ * 获取副本连接失败时立即标记该副本不健康并尝试下一个，之后由定期健康检查恢复。
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary 主库
+     * @param replicas 副本，名称用于日志
+     * @param readYourWritesTracker 写后读主库的窗口
+     * @param maxLag 复制延迟上限，0表示不检查
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+            ReadYourWritesTracker readYourWritesTracker, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWritesTracker.isCurrentUserPinned()) {
+            return primary.getConnection();
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * 指定的用户名密码只对主库有意义，副本使用各自连接池配置的账号，因此直接取主库连接
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * 检查每个副本的连通性和复制延迟，不健康的副本不再分配连接，恢复后重新加入
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.datasource.replica.health-check-interval:10s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            String problem = probe(replica);
+            if (problem == null) {
+                if (!replica.healthy) {
+                    replica.healthy = true;
+                    logger.info("只读副本{}已恢复", replica.name);
+                }
+            } else {
+                markDown(replica, problem);
+            }
+        }
+    }
+
+    /**
+     * 当前健康的副本数
+     * @return 副本数
+     */
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("关闭只读副本{}的连接池失败: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 问题描述，健康时为null
+     */
+    private String probe(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return "连接校验失败";
+            }
+            if (maxLag.isZero()) {
+                return null;
+            }
+            try (Statement statement = connection.createStatement();
+                    ResultSet resultSet = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (!resultSet.next()) {
+                    return "未配置复制";
+                }
+                long lagSeconds = resultSet.getLong("Seconds_Behind_Source");
+                if (resultSet.wasNull()) {
+                    return "复制已停止";
+                }
+                if (lagSeconds > maxLag.toSeconds()) {
+                    return "复制延迟" + lagSeconds + "秒";
+                }
+                return null;
+            }
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            logger.warn("只读副本{}不可用，只读查询暂时改走其他副本或主库: {}", replica.name, reason);
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
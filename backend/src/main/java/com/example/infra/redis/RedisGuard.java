@@ -0,0 +1,51 @@
+package com.example.infra.redis;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis可用性保护
+ * Redis访问失败后在重试间隔内跳过所有Redis调用，各功能退化为仅使用本地状态，
+ * 避免每个请求都等待连接超时。
+ */
+@Component
+public class RedisGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisGuard.class);
+
+    private final long retryIntervalMillis;
+
+    /**
+     * 暂停访问Redis直到该时间点（毫秒）
+     */
+    private volatile long suspendedUntil;
+
+    public RedisGuard(@Value("${app.redis.retry-interval:30s}") Duration retryInterval) {
+        this.retryIntervalMillis = retryInterval.toMillis();
+    }
+
+    /**
+     * Redis当前是否可用
+     * @return 是否可用
+     */
+    public boolean isAvailable() {
+        return System.currentTimeMillis() >= suspendedUntil;
+    }
+
+    /**
+     * 记录一次Redis访问失败，在重试间隔内暂停访问
+     * @param e 访问异常
+     */
+    public void markUnavailable(DataAccessException e) {
+        boolean wasAvailable = isAvailable();
+        suspendedUntil = System.currentTimeMillis() + retryIntervalMillis;
+        if (wasAvailable) {
+            logger.warn("Redis不可用，{}ms内退化为仅使用本地状态: {}", retryIntervalMillis, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.infra.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis发布订阅
+ * 监听容器在应用就绪后才建立订阅，Redis不可用时不阻塞启动，
+ * 之后定时检查订阅状态并在Redis恢复后重新订阅。
+ * 订阅中断期间的消息会丢失，重新订阅后通知登记的回调，由订阅方自行补偿（如清空本地缓存）。
+ */
+@Component
+public class RedisPubSub implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisPubSub.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard redisGuard;
+    private final boolean enabled;
+    private final RedisMessageListenerContainer container;
+    private final AtomicInteger channelCount = new AtomicInteger();
+    private final List<Runnable> resubscribeCallbacks = new CopyOnWriteArrayList<>();
+
+    private volatile boolean ready;
+
+    /**
+     * 是否有未补偿的订阅中断（包括启动前尚未订阅的时段）
+     */
+    private volatile boolean interrupted = true;
+
+    public RedisPubSub(RedisConnectionFactory connectionFactory, StringRedisTemplate redisTemplate,
+            RedisGuard redisGuard, @Value("${app.redis.pubsub-enabled:true}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.redisGuard = redisGuard;
+        this.enabled = enabled;
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.afterPropertiesSet();
+    }
+
+    /**
+     * 订阅频道
+     * @param channel 频道名
+     * @param handler 消息处理器，参数为UTF-8消息体
+     */
+    public void subscribe(String channel, Consumer<String> handler) {
+        if (!enabled) {
+            return;
+        }
+        channelCount.incrementAndGet();
+        try {
+            container.addMessageListener(
+                    (message, pattern) -> handler.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(channel));
+        } catch (DataAccessException e) {
+            // 监听器已登记，定时任务会在Redis恢复后重新订阅
+            redisGuard.markUnavailable(e);
+        }
+    }
+
+    /**
+     * 登记订阅中断后恢复时的回调，用于补偿中断期间丢失的消息
+     * @param callback 回调，在定时任务线程中执行
+     */
+    public void onResubscribed(Runnable callback) {
+        resubscribeCallbacks.add(callback);
+    }
+
+    /**
+     * 发布消息，Redis不可用时静默丢弃
+     * @param channel 频道名
+     * @param message 消息体
+     */
+    public void publish(String channel, String message) {
+        if (!enabled || !redisGuard.isAvailable()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+        }
+    }
+
+    /**
+     * 当前是否已建立订阅
+     * @return 是否在监听
+     */
+    public boolean isListening() {
+        return container.isListening();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ready = true;
+        ensureSubscribed();
+    }
+
+    @Scheduled(fixedDelayString = "${app.redis.retry-interval:30s}")
+    public void ensureSubscribed() {
+        if (!enabled || !ready || channelCount.get() == 0) {
+            return;
+        }
+        if (!redisGuard.isAvailable()) {
+            // Redis访问失败期间订阅连接很可能也已中断，监听容器可能在两次检查之间自行重连
+            interrupted = true;
+            return;
+        }
+        if (container.isListening()) {
+            notifyIfInterrupted();
+            return;
+        }
+        interrupted = true;
+        try {
+            if (container.isRunning()) {
+                container.stop();
+            }
+            container.start();
+            logger.info("Redis订阅已建立");
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+            return;
+        }
+        if (container.isListening()) {
+            notifyIfInterrupted();
+        }
+    }
+
+    private void notifyIfInterrupted() {
+        if (!interrupted) {
+            return;
+        }
+        interrupted = false;
+        for (Runnable callback : resubscribeCallbacks) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                logger.warn("Redis重新订阅回调执行失败", e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+}
@@ -1,41 +1,78 @@
 package com.example.infra.security;
 
-import java.util.Collections;
-
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
 import com.example.core.repository.UserRepository;
+import com.example.infra.cache.UserLookupCache;
+import com.example.infra.cache.UserSnapshot;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UserLookupCache userLookupCache;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserLookupCache userLookupCache, UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher) {
+        this.userLookupCache = userLookupCache;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        User user = userRepository.findByUsernameOrEmail(usernameOrEmail)
+        // 密码哈希不进入Redis，认证时使用带哈希的本地快照或从数据库加载
+        UserSnapshot user = userLookupCache.findForAuthentication(usernameOrEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + usernameOrEmail));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new UserPrincipal(
+                user.getId(),
                 user.getUsername(), // 始终使用用户名作为principal
                 user.getPassword(),
-                user.getStatus() == User.UserStatus.ACTIVE,
-                true,
-                true,
-                user.getStatus() != User.UserStatus.LOCKED,
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+                user.getStatus(),
+                user.getEmail(),
+                user.getNickname(),
+                user.getPhone(),
+                user.getRoles().stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .toList()
         );
     }
 
+    /**
+     * 登录成功后保存按当前配置重新计算的密码哈希
+     * 明文密码未变，因此只失效缓存，不撤销已签发的令牌
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(user, UserChangedEvent.ChangeType.UPDATED));
+
+        return new UserPrincipal(
+                user.getId(),
+                user.getUsername(),
+                newPassword,
+                user.getStatus(),
+                user.getEmail(),
+                user.getNickname(),
+                user.getPhone(),
+                userDetails.getAuthorities());
+    }
+
     /**
      * 根据用户名或邮箱加载用户详情
      * @param usernameOrEmail 用户名或邮箱
@@ -0,0 +1,299 @@
+package com.example.infra.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * 针对本系统签发的HS512令牌的专用解码器
+ * 头部固定为 {"alg":"HS512"}，用复用的Mac验签并以常量时间比较签名，
+ * 载荷用Jackson流式解析，只取认证需要的字段，不构建声明Map。
+ * 头部不同、载荷含nbf等需要完整校验语义的声明、或格式无法识别时交给jjwt处理。
+ */
+public final class FastJwtCodec {
+
+    private static final String MAC_ALGORITHM = "HmacSHA512";
+    private static final int SIGNATURE_LENGTH = 64;
+
+    /**
+     * jjwt签发HS512令牌时的头部编码
+     */
+    private static final String HS512_HEADER = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("{\"alg\":\"HS512\"}".getBytes(StandardCharsets.US_ASCII));
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final byte[] BASE64_URL_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_URL_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final SecretKeySpec key;
+    private final JwtParser fallbackParser;
+
+    /**
+     * 空闲的Mac和缓冲区，按需借还
+     * 虚拟线程下每个请求都是新线程，ThreadLocal无法复用，初始化Mac的开销会落到每个请求上
+     */
+    private final ArrayBlockingQueue<Workspace> idleWorkspaces =
+            new ArrayBlockingQueue<>(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+    /**
+     * @param secret 签名密钥
+     * @param fallbackParser 无法走快速路径时使用的jjwt解析器（须使用同一密钥）
+     */
+    public FastJwtCodec(byte[] secret, JwtParser fallbackParser) {
+        this.key = new SecretKeySpec(secret, MAC_ALGORITHM);
+        this.fallbackParser = fallbackParser;
+    }
+
+    /**
+     * 解析并验证令牌
+     * @param token JWT令牌
+     * @return 已验签的令牌
+     * @throws io.jsonwebtoken.JwtException 令牌无效或已过期
+     */
+    public ParsedToken decode(String token) {
+        ParsedToken parsed = tryDecode(token);
+        if (parsed != null) {
+            return parsed;
+        }
+        return ParsedToken.of(fallbackParser.parseClaimsJws(token).getBody());
+    }
+
+    /**
+     * 快速路径解析
+     * @return 已验签的令牌，令牌形态不在快速路径范围内时返回null
+     * @throws SignatureException 签名不匹配
+     * @throws ExpiredJwtException 令牌已过期
+     */
+    ParsedToken tryDecode(String token) {
+        int headerEnd = HS512_HEADER.length();
+        if (token == null || token.length() <= headerEnd || token.charAt(headerEnd) != '.'
+                || !token.startsWith(HS512_HEADER)) {
+            return null;
+        }
+        int payloadEnd = token.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            return null;
+        }
+
+        Workspace workspace = idleWorkspaces.poll();
+        if (workspace == null) {
+            workspace = new Workspace(key);
+        }
+        try {
+            return decode(workspace, token, headerEnd, payloadEnd);
+        } finally {
+            // 队列已满时丢弃，空闲工作区数量不超过队列容量
+            idleWorkspaces.offer(workspace);
+        }
+    }
+
+    private static ParsedToken decode(Workspace workspace, String token, int headerEnd, int payloadEnd) {
+        // 签名段必须恰好解码为64字节
+        if (decodeBase64Url(token, payloadEnd + 1, token.length(), workspace.signature) != SIGNATURE_LENGTH) {
+            return null;
+        }
+
+        byte[] signingInput = workspace.buffer(payloadEnd);
+        for (int i = 0; i < payloadEnd; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7F) {
+                return null;
+            }
+            signingInput[i] = (byte) c;
+        }
+        if (!verify(workspace, signingInput, payloadEnd)) {
+            throw new SignatureException("JWT signature does not match locally computed signature.");
+        }
+
+        // 签名输入已不再需要，载荷直接解码到同一缓冲区
+        int payloadLength = decodeBase64Url(token, headerEnd + 1, payloadEnd, signingInput);
+        if (payloadLength < 0) {
+            return null;
+        }
+        return parsePayload(signingInput, payloadLength);
+    }
+
+    private static boolean verify(Workspace workspace, byte[] signingInput, int length) {
+        Mac mac = workspace.mac;
+        try {
+            mac.update(signingInput, 0, length);
+            mac.doFinal(workspace.expected, 0);
+        } catch (GeneralSecurityException e) {
+            mac.reset();
+            throw new IllegalStateException("HMAC计算失败", e);
+        }
+        return MessageDigest.isEqual(workspace.expected, workspace.signature);
+    }
+
+    private static ParsedToken parsePayload(byte[] payload, int length) {
+        String subject = null;
+        String id = null;
+        long issuedAt = -1;
+        long expiration = -1;
+        Long userId = null;
+        String status = null;
+        List<String> roles = null;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(payload, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "sub":
+                        if (value != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        subject = parser.getText();
+                        break;
+                    case "jti":
+                        if (value != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        id = parser.getText();
+                        break;
+                    case "iat":
+                        if (value != JsonToken.VALUE_NUMBER_INT) {
+                            return null;
+                        }
+                        issuedAt = parser.getLongValue();
+                        break;
+                    case "exp":
+                        if (value != JsonToken.VALUE_NUMBER_INT) {
+                            return null;
+                        }
+                        expiration = parser.getLongValue();
+                        break;
+                    case JwtTokenProvider.CLAIM_USER_ID:
+                        if (value != JsonToken.VALUE_NUMBER_INT) {
+                            return null;
+                        }
+                        userId = parser.getLongValue();
+                        break;
+                    case JwtTokenProvider.CLAIM_STATUS:
+                        if (value != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        status = parser.getText();
+                        break;
+                    case JwtTokenProvider.CLAIM_ROLES:
+                        if (value != JsonToken.START_ARRAY) {
+                            return null;
+                        }
+                        roles = new ArrayList<>(2);
+                        while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                            roles.add(parser.getText());
+                        }
+                        if (parser.currentToken() != JsonToken.END_ARRAY) {
+                            return null;
+                        }
+                        break;
+                    case "nbf":
+                        // 生效时间等校验交给jjwt
+                        return null;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+
+        if (expiration >= 0 && expiration * 1000 <= System.currentTimeMillis()) {
+            throw new ExpiredJwtException(null, null, "JWT expired at " + new Date(expiration * 1000));
+        }
+        return new ParsedToken(subject, id,
+                issuedAt < 0 ? null : new Date(issuedAt * 1000),
+                expiration < 0 ? null : new Date(expiration * 1000),
+                userId, status, roles);
+    }
+
+    /**
+     * Base64URL（无填充）解码，不分配内存
+     * @return 解码后的字节数，包含非法字符或目标空间不足时返回-1
+     */
+    private static int decodeBase64Url(String source, int from, int to, byte[] target) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int decodedLength = length / 4 * 3 + Math.max(length % 4 - 1, 0);
+        if (decodedLength > target.length) {
+            return -1;
+        }
+
+        int out = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            int value = c < 128 ? BASE64_URL_VALUES[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                target[out++] = (byte) (bits >> bitCount);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 可复用的Mac和缓冲区，同一时间只被一个线程使用
+     */
+    private static final class Workspace {
+
+        private final Mac mac;
+        private final byte[] expected = new byte[SIGNATURE_LENGTH];
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private byte[] buffer = new byte[512];
+
+        Workspace(SecretKeySpec key) {
+            try {
+                mac = Mac.getInstance(MAC_ALGORITHM);
+                mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("无法初始化" + MAC_ALGORITHM, e);
+            }
+        }
+
+        byte[] buffer(int minLength) {
+            if (buffer.length < minLength) {
+                buffer = new byte[Math.max(minLength, buffer.length * 2)];
+            }
+            return buffer;
+        }
+    }
+}
@@ -22,13 +22,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final UserRevocationRegistry revocationRegistry;
+    private final TokenRevocationService tokenRevocationService;
 
     @Value("${jwt.header:Authorization}")
     private String tokenHeader;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, CustomUserDetailsService userDetailsService,
+            UserRevocationRegistry revocationRegistry, TokenRevocationService tokenRevocationService) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
+        this.revocationRegistry = revocationRegistry;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -38,12 +43,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = getJwtFromRequest(request);
 
             if (StringUtils.hasText(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                ParsedToken parsedToken = tokenProvider.parseToken(jwt);
+                UserDetails userDetails = loadUserDetails(parsedToken);
                 
-                if (tokenProvider.validateToken(jwt, userDetails)) {
+                if (tokenProvider.validateToken(parsedToken, userDetails)
+                        && !revocationRegistry.isRevoked(parsedToken)
+                        && !tokenRevocationService.isRevoked(parsedToken.getId())) {
+                    // 凭证保存已解析的令牌，注销时据此撤销
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
+                            userDetails, parsedToken, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
@@ -55,6 +63,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 无状态主体模式下直接从令牌构建用户详情，否则（或令牌缺少用户声明时）查询数据库
+     */
+    private UserDetails loadUserDetails(ParsedToken parsedToken) {
+        if (tokenProvider.isStatelessPrincipal()) {
+            UserDetails userDetails = tokenProvider.getUserDetailsFromToken(parsedToken);
+            if (userDetails != null) {
+                return userDetails;
+            }
+        }
+        return userDetailsService.loadUserByUsername(parsedToken.getSubject());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader(tokenHeader);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -3,28 +3,93 @@ package com.example.infra.security;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.example.core.entity.User;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtTokenProvider {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_STATUS = "status";
+    static final String CLAIM_ROLES = "roles";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationInSec;
 
+    @Value("${jwt.cache-size:10000}")
+    private int tokenCacheSize;
+
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
+    private Key signingKey;
+
+    private JwtParser jwtParser;
+
+    private FastJwtCodec jwtCodec;
+
+    /**
+     * 已验签令牌缓存，条目随令牌过期而失效
+     */
+    private Cache<String, ParsedToken> verifiedTokens;
+
+    /**
+     * 令牌解析耗时，按缓存命中、验签通过和无效分别统计
+     */
+    private final Timer cachedParseTimer;
+    private final Timer verifiedParseTimer;
+    private final Timer invalidParseTimer;
+
+    public JwtTokenProvider(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.cachedParseTimer = parseTimer(registry, "cached");
+        this.verifiedParseTimer = parseTimer(registry, "verified");
+        this.invalidParseTimer = parseTimer(registry, "invalid");
+    }
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        jwtCodec = new FastJwtCodec(jwtSecret.getBytes(), jwtParser);
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
     /**
      * 生成JWT令牌
      * @param authentication 认证信息
@@ -32,7 +97,15 @@ public class JwtTokenProvider {
      */
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateToken(userDetails.getUsername());
+        Map<String, Object> claims = new HashMap<>();
+        if (statelessPrincipal && userDetails instanceof UserPrincipal principal) {
+            claims.put(CLAIM_USER_ID, principal.getId());
+            claims.put(CLAIM_STATUS, principal.getStatus().name());
+            claims.put(CLAIM_ROLES, principal.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList());
+        }
+        return doGenerateToken(claims, userDetails.getUsername());
     }
 
     /**
@@ -45,13 +118,78 @@ public class JwtTokenProvider {
         return doGenerateToken(claims, username);
     }
 
+    /**
+     * 访问令牌有效期（秒）
+     * @return 有效期
+     */
+    public int getExpirationInSeconds() {
+        return jwtExpirationInSec;
+    }
+
     /**
      * 从令牌中获取用户名
      * @param token JWT令牌
      * @return 用户名
      */
     public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
+        return parseToken(token).getSubject();
+    }
+
+    /**
+     * 解析并验证令牌，验签结果会被缓存直到令牌过期
+     * @param token JWT令牌
+     * @return 已验签的令牌
+     * @throws io.jsonwebtoken.JwtException 令牌无效或已过期
+     */
+    public ParsedToken parseToken(String token) {
+        long start = System.nanoTime();
+        ParsedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && !cached.isExpired()) {
+            cachedParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+
+        ParsedToken parsed;
+        try {
+            parsed = jwtCodec.decode(token);
+        } catch (RuntimeException e) {
+            invalidParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        if (parsed.getExpiration() != null) {
+            verifiedTokens.put(token, parsed);
+        }
+        verifiedParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return parsed;
+    }
+
+    /**
+     * 是否启用无状态主体模式
+     * @return 启用时过滤器直接从令牌声明构建用户详情，不再查询数据库
+     */
+    public boolean isStatelessPrincipal() {
+        return statelessPrincipal;
+    }
+
+    /**
+     * 从令牌声明构建用户详情
+     * @param parsedToken 已验签的令牌
+     * @return 用户详情，令牌未携带用户声明时返回null
+     */
+    public UserDetails getUserDetailsFromToken(ParsedToken parsedToken) {
+        Long userId = parsedToken.getUserId();
+        String status = parsedToken.getStatus();
+        if (userId == null || status == null) {
+            return null;
+        }
+
+        List<String> roles = parsedToken.getRoles();
+        List<SimpleGrantedAuthority> authorities = roles == null ? List.of()
+                : roles.stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .toList();
+
+        return new UserPrincipal(userId, parsedToken.getSubject(), "", User.UserStatus.valueOf(status), authorities);
     }
 
     /**
@@ -61,8 +199,20 @@ public class JwtTokenProvider {
      * @return 是否有效
      */
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(parseToken(token), userDetails);
+    }
+
+    /**
+     * 验证已解析的令牌是否属于该用户、用户可用且令牌未过期
+     * @param parsedToken 已验签的令牌
+     * @param userDetails 用户详情
+     * @return 是否有效
+     */
+    public boolean validateToken(ParsedToken parsedToken, UserDetails userDetails) {
+        return parsedToken.getSubject().equals(userDetails.getUsername())
+                && userDetails.isEnabled()
+                && userDetails.isAccountNonLocked()
+                && !parsedToken.isExpired();
     }
 
     /**
@@ -71,8 +221,7 @@ public class JwtTokenProvider {
      * @return 是否过期
      */
     public boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+        return parseToken(token).isExpired();
     }
 
     /**
@@ -81,18 +230,17 @@ public class JwtTokenProvider {
      * @return 过期时间
      */
     public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+        return parseToken(token).getExpiration();
     }
 
     /**
-     * 从令牌中获取声明
+     * 从令牌中获取声明（完整解析，不走缓存和快速路径）
      * @param token JWT令牌
      * @param claimsResolver 声明解析器
      * @return 声明
      */
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(getAllClaimsFromToken(token));
     }
 
     /**
@@ -101,11 +249,7 @@ public class JwtTokenProvider {
      * @return 所有声明
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     /**
@@ -116,23 +260,44 @@ public class JwtTokenProvider {
      */
     private String doGenerateToken(Map<String, Object> claims, String subject) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationInSec * 1000);
+        Date expiryDate = new Date(now.getTime() + jwtExpirationInSec * 1000L);
 
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    private static Timer parseTimer(MeterRegistry registry, String result) {
+        return Timer.builder("jwt.parse")
+                .description("JWT解析与验签耗时")
+                .tag("result", result)
+                .register(registry);
+    }
+
     /**
-     * 获取签名密钥
-     * @return 签名密钥
+     * 缓存条目的存活时间等于令牌剩余有效期
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static class TokenExpiry implements Expiry<String, ParsedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, ParsedToken value, long currentTime) {
+            long remainingMillis = value.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ParsedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, ParsedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
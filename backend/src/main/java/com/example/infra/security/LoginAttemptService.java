@@ -0,0 +1,194 @@
+package com.example.infra.security;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.infra.config.LoginThrottleProperties;
+import com.example.infra.exception.BusinessException;
+import com.example.infra.redis.RedisGuard;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 登录暴力破解限流
+ * 按用户名和IP分别统计失败次数，超出阈值后按指数退避封禁。
+ * 计数保存在本地无锁计数器中，并通过Redis在多个节点间同步；
+ * 被封禁的请求在认证之前直接拒绝，不做密码哈希也不查数据库。
+ */
+@Component
+public class LoginAttemptService {
+
+    private static final String FAILURE_KEY_PREFIX = "login:fail:";
+    private static final String BLOCK_KEY_PREFIX = "login:block:";
+
+    private final LoginThrottleProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard redisGuard;
+    private final Cache<String, AttemptCounter> counters;
+
+    public LoginAttemptService(LoginThrottleProperties properties, StringRedisTemplate redisTemplate,
+            RedisGuard redisGuard) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.redisGuard = redisGuard;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaxSize())
+                .expireAfterAccess(properties.getWindow())
+                .build();
+    }
+
+    /**
+     * 检查是否允许本次登录尝试
+     * @param username 用户名或邮箱
+     * @param clientIp 客户端IP
+     * @throws BusinessException 处于退避期时抛出429
+     */
+    public void checkAllowed(String username, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long retryAfterMillis = Math.max(remainingBlockMillis(usernameKey(username), now),
+                remainingBlockMillis(ipKey(clientIp), now));
+        if (retryAfterMillis > 0) {
+            long seconds = TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis + 999);
+            throw new BusinessException(429, "登录失败次数过多，请" + seconds + "秒后重试");
+        }
+    }
+
+    /**
+     * 记录一次登录失败
+     * @param username 用户名或邮箱
+     * @param clientIp 客户端IP
+     */
+    public void recordFailure(String username, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        recordFailure(usernameKey(username), properties.getMaxUsernameFailures(), now);
+        recordFailure(ipKey(clientIp), properties.getMaxIpFailures(), now);
+    }
+
+    /**
+     * 记录一次登录成功，清除该用户名的失败计数（IP计数保留）
+     * @param username 用户名或邮箱
+     */
+    public void recordSuccess(String username) {
+        String key = usernameKey(username);
+        if (!properties.isEnabled() || key == null) {
+            return;
+        }
+        counters.invalidate(key);
+        if (redisAvailable()) {
+            try {
+                redisTemplate.delete(FAILURE_KEY_PREFIX + key);
+            } catch (DataAccessException e) {
+                redisGuard.markUnavailable(e);
+            }
+        }
+    }
+
+    private long remainingBlockMillis(String key, long now) {
+        if (key == null) {
+            return 0;
+        }
+        AttemptCounter counter = counters.getIfPresent(key);
+        if (counter != null && counter.blockedUntil.get() > now) {
+            return counter.blockedUntil.get() - now;
+        }
+
+        // 本地未封禁时再确认其他节点是否已封禁
+        if (redisAvailable()) {
+            try {
+                Long ttl = redisTemplate.getExpire(BLOCK_KEY_PREFIX + key, TimeUnit.MILLISECONDS);
+                if (ttl != null && ttl > 0) {
+                    counters.get(key, k -> new AttemptCounter()).blockUntil(now + ttl);
+                    return ttl;
+                }
+            } catch (DataAccessException e) {
+                redisGuard.markUnavailable(e);
+            }
+        }
+        return 0;
+    }
+
+    private void recordFailure(String key, int threshold, long now) {
+        if (key == null) {
+            return;
+        }
+        AttemptCounter counter = counters.get(key, k -> new AttemptCounter());
+        int failures = counter.failures.incrementAndGet();
+
+        if (redisAvailable()) {
+            try {
+                Long globalFailures = redisTemplate.opsForValue().increment(FAILURE_KEY_PREFIX + key);
+                if (globalFailures != null) {
+                    if (globalFailures == 1) {
+                        redisTemplate.expire(FAILURE_KEY_PREFIX + key, properties.getWindow());
+                    }
+                    failures = counter.failures.accumulateAndGet(globalFailures.intValue(), Math::max);
+                }
+            } catch (DataAccessException e) {
+                redisGuard.markUnavailable(e);
+            }
+        }
+
+        if (failures < threshold) {
+            return;
+        }
+        long backoffMillis = backoffMillis(failures - threshold);
+        counter.blockUntil(now + backoffMillis);
+
+        if (redisAvailable()) {
+            try {
+                redisTemplate.opsForValue().set(BLOCK_KEY_PREFIX + key, "1", backoffMillis, TimeUnit.MILLISECONDS);
+            } catch (DataAccessException e) {
+                redisGuard.markUnavailable(e);
+            }
+        }
+    }
+
+    /**
+     * 指数退避：超出阈值后每多失败一次，封禁时长翻倍，直到上限
+     */
+    private long backoffMillis(int excessFailures) {
+        long base = properties.getBaseBackoff().toMillis();
+        long max = properties.getMaxBackoff().toMillis();
+        if (excessFailures >= Long.numberOfLeadingZeros(base) - 1) {
+            return max;
+        }
+        return Math.min(base << excessFailures, max);
+    }
+
+    private boolean redisAvailable() {
+        return properties.isRedisEnabled() && redisGuard.isAvailable();
+    }
+
+    private static String usernameKey(String username) {
+        return username == null || username.isBlank() ? null : "user:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return clientIp == null || clientIp.isBlank() ? null : "ip:" + clientIp;
+    }
+
+    /**
+     * 单个维度的失败计数，只使用原子变量更新
+     */
+    private static class AttemptCounter {
+
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicLong blockedUntil = new AtomicLong();
+
+        void blockUntil(long timestamp) {
+            blockedUntil.accumulateAndGet(timestamp, Math::max);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.infra.security;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单次登录各阶段耗时
+ * 作为认证请求的details传入认证管理器，由认证提供者填写查询和哈希耗时，
+ * 签发令牌的耗时由登录服务填写。
+ */
+public class LoginTimings {
+
+    private long lookupNanos;
+    private long hashNanos;
+    private long upgradeNanos;
+    private long signNanos;
+
+    public void recordLookup(long nanos) {
+        this.lookupNanos = nanos;
+    }
+
+    public void recordHash(long nanos) {
+        this.hashNanos = nanos;
+    }
+
+    public void recordUpgrade(long nanos) {
+        this.upgradeNanos = nanos;
+    }
+
+    public void recordSign(long nanos) {
+        this.signNanos = nanos;
+    }
+
+    public long getLookupNanos() {
+        return lookupNanos;
+    }
+
+    public long getHashNanos() {
+        return hashNanos;
+    }
+
+    public long getUpgradeNanos() {
+        return upgradeNanos;
+    }
+
+    public long getSignNanos() {
+        return signNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "lookup=" + millis(lookupNanos) + "ms, hash=" + millis(hashNanos) + "ms, upgrade="
+                + millis(upgradeNanos) + "ms, sign=" + millis(signNanos) + "ms";
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.infra.security;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * 已验签的JWT令牌
+ * 一次解析得到主题、令牌ID、签发时间、过期时间和用户声明，避免重复验签。
+ * 只保存认证需要的字段，不持有完整的声明Map。
+ */
+public final class ParsedToken {
+
+    private final String subject;
+    private final String id;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Long userId;
+    private final String status;
+    private final List<String> roles;
+
+    public ParsedToken(String subject, String id, Date issuedAt, Date expiration,
+            Long userId, String status, List<String> roles) {
+        this.subject = subject;
+        this.id = id;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+        this.userId = userId;
+        this.status = status;
+        this.roles = roles;
+    }
+
+    /**
+     * 从jjwt解析出的声明构建
+     * @param claims 声明
+     * @return 已验签的令牌
+     */
+    public static ParsedToken of(Claims claims) {
+        Collection<?> roles = claims.get(JwtTokenProvider.CLAIM_ROLES, List.class);
+        return new ParsedToken(
+                claims.getSubject(),
+                claims.getId(),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                claims.get(JwtTokenProvider.CLAIM_USER_ID, Long.class),
+                claims.get(JwtTokenProvider.CLAIM_STATUS, String.class),
+                roles == null ? null : roles.stream().map(String::valueOf).toList());
+    }
+
+    /**
+     * 令牌是否已过期
+     * @return 是否过期
+     */
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * 令牌ID（jti），用于按令牌撤销
+     * @return 令牌ID，旧令牌可能不存在
+     */
+    public String getId() {
+        return id;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    /**
+     * 用户ID声明，仅无状态主体模式签发的令牌携带
+     * @return 用户ID，不存在时返回null
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * 用户状态声明，仅无状态主体模式签发的令牌携带
+     * @return 用户状态，不存在时返回null
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * 角色声明，仅无状态主体模式签发的令牌携带
+     * @return 角色列表，不存在时返回null
+     */
+    public List<String> getRoles() {
+        return roles;
+    }
+}
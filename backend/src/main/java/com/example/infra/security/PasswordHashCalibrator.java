@@ -0,0 +1,70 @@
+package com.example.infra.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 启动时按目标耗时校准BCrypt强度
+ * 强度每加1耗时翻倍，因此只需测量基准强度即可推算。单次测量易受GC和其他线程干扰，
+ * 取多次测量的中位数；结果限制在配置的上下限之内。
+ * 各节点的测量结果仍可能不同，需要全集群一致时应直接配置强度，不做校准。
+ */
+public final class PasswordHashCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private PasswordHashCalibrator() {
+    }
+
+    /**
+     * 计算最接近目标耗时的BCrypt强度
+     * @param target 单次哈希目标耗时
+     * @param minStrength 最小强度
+     * @param maxStrength 最大强度
+     * @param samples 基准强度的测量次数，取中位数
+     * @return BCrypt强度
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength, int samples) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        // 第一次调用包含类加载和JIT预热，不计入测量
+        encoder.encode(SAMPLE_PASSWORD);
+
+        long[] sampleNanos = new long[Math.max(samples, 1)];
+        for (int i = 0; i < sampleNanos.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            sampleNanos[i] = System.nanoTime() - start;
+        }
+
+        int strength = strengthFor(target, sampleNanos, minStrength, maxStrength);
+        logger.info("BCrypt强度校准完成: 强度{}耗时中位数{}ms（{}次测量）, 目标{}ms, 选用强度{}",
+                minStrength, median(sampleNanos) / 1_000_000, sampleNanos.length, target.toMillis(), strength);
+        return strength;
+    }
+
+    /**
+     * 按基准强度的测量结果推算强度
+     * @param target 单次哈希目标耗时
+     * @param sampleNanos 以最小强度哈希的各次耗时
+     * @param minStrength 最小强度，即测量所用强度
+     * @param maxStrength 最大强度
+     * @return BCrypt强度
+     */
+    static int strengthFor(Duration target, long[] sampleNanos, int minStrength, int maxStrength) {
+        long baseNanos = Math.max(median(sampleNanos), 1);
+        double doublings = Math.log((double) target.toNanos() / baseNanos) / Math.log(2);
+        return Math.max(minStrength, Math.min(maxStrength, minStrength + (int) Math.round(doublings)));
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
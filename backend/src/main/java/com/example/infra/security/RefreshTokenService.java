@@ -0,0 +1,193 @@
+package com.example.infra.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.core.event.UserChangedEvent;
+import com.example.infra.exception.BusinessException;
+import com.example.infra.redis.RedisGuard;
+
+/**
+ * 刷新令牌存储
+ * 刷新令牌为随机串，Redis中只保存其SHA-256摘要到"签发时间:用户名"的映射；
+ * 每个刷新令牌只能使用一次，使用后立即删除并签发新的刷新令牌。
+ * 每个用户的摘要另存一个有序集合（分值为过期时间），用户修改密码、被锁定、禁用或删除后整体作废；
+ * 使用时再按签发时间核对{@link UserRevocationRegistry}，覆盖作废与签发并发的情况。
+ */
+@Component
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final String KEY_PREFIX = "auth:refresh:";
+    private static final String USER_KEY_PREFIX = "auth:refresh:user:";
+    private static final int TOKEN_BYTES = 32;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard redisGuard;
+    private final UserRevocationRegistry userRevocationRegistry;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration:604800}")
+    private long refreshExpirationInSec;
+
+    public RefreshTokenService(StringRedisTemplate redisTemplate, RedisGuard redisGuard,
+            UserRevocationRegistry userRevocationRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.redisGuard = redisGuard;
+        this.userRevocationRegistry = userRevocationRegistry;
+    }
+
+    /**
+     * 签发刷新令牌
+     * @param username 用户名
+     * @return 刷新令牌，Redis不可用时返回null（客户端只能重新登录）
+     */
+    public String issue(String username) {
+        if (!redisGuard.isAvailable()) {
+            return null;
+        }
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String digest = digest(refreshToken);
+        String userKey = USER_KEY_PREFIX + username;
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + digest, now + ":" + username,
+                    refreshExpirationInSec, TimeUnit.SECONDS);
+            // 顺带清理已过期的摘要，集合大小不超过有效期内的登录次数
+            redisTemplate.opsForZSet().add(userKey, digest, now + refreshExpirationInSec * 1000);
+            redisTemplate.opsForZSet().removeRangeByScore(userKey, 0, now);
+            redisTemplate.expire(userKey, refreshExpirationInSec, TimeUnit.SECONDS);
+            return refreshToken;
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+            return null;
+        }
+    }
+
+    /**
+     * 使用刷新令牌，令牌随即失效
+     * @param refreshToken 刷新令牌
+     * @return 用户名，令牌无效、已使用或签发后用户令牌被撤销时返回null
+     * @throws BusinessException Redis不可用时抛出503
+     */
+    public String consume(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return null;
+        }
+        if (!redisGuard.isAvailable()) {
+            throw new BusinessException(503, "服务繁忙，请稍后重试");
+        }
+        String digest = digest(refreshToken);
+        String value;
+        try {
+            value = redisTemplate.opsForValue().getAndDelete(KEY_PREFIX + digest);
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+            throw new BusinessException(503, "服务繁忙，请稍后重试");
+        }
+        if (value == null) {
+            return null;
+        }
+
+        long issuedAt = Long.MIN_VALUE;
+        String username = value;
+        int separator = value.indexOf(':');
+        // 旧格式只保存用户名，按最早签发处理
+        if (separator > 0 && value.chars().limit(separator).allMatch(Character::isDigit)) {
+            issuedAt = Long.parseLong(value.substring(0, separator));
+            username = value.substring(separator + 1);
+        }
+        removeFromUserIndex(username, digest);
+        if (userRevocationRegistry.isRevoked(username, issuedAt)) {
+            return null;
+        }
+        return username;
+    }
+
+    /**
+     * 作废刷新令牌
+     * @param refreshToken 刷新令牌
+     */
+    public void revoke(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank() || !redisGuard.isAvailable()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(KEY_PREFIX + digest(refreshToken));
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+        }
+    }
+
+    /**
+     * 作废该用户的全部刷新令牌
+     * @param username 用户名
+     */
+    public void revokeAll(String username) {
+        if (!redisGuard.isAvailable()) {
+            logger.warn("Redis不可用，未能作废用户的刷新令牌: {}", username);
+            return;
+        }
+        String userKey = USER_KEY_PREFIX + username;
+        try {
+            Set<String> digests = redisTemplate.opsForZSet().range(userKey, 0, -1);
+            List<String> keys = new ArrayList<>();
+            keys.add(userKey);
+            if (digests != null) {
+                digests.forEach(digest -> keys.add(KEY_PREFIX + digest));
+            }
+            redisTemplate.delete(keys);
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+            logger.warn("Redis不可用，未能作废用户的刷新令牌: {}", username);
+        }
+    }
+
+    /**
+     * 用户修改密码、被锁定、禁用或删除后，事务提交时作废其刷新令牌
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.revokesTokens()) {
+            revokeAll(event.getUsername());
+        }
+    }
+
+    private void removeFromUserIndex(String username, String digest) {
+        try {
+            redisTemplate.opsForZSet().remove(USER_KEY_PREFIX + username, digest);
+        } catch (DataAccessException e) {
+            // 索引中残留的摘要只在作废时多删一个不存在的键
+            redisGuard.markUnavailable(e);
+        }
+    }
+
+    private static String digest(String refreshToken) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.infra.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * 记录各阶段耗时的DAO认证提供者
+ * 认证请求的details为{@link LoginTimings}时，分别记录用户查询、密码校验和哈希升级的耗时。
+ * 父类的用户查询方法不可覆盖，查询耗时按总耗时减去其余阶段计算；
+ * 用户不存在时父类为防止时序攻击所做的哈希也计入查询阶段。
+ */
+public class TimedDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    public TimedDaoAuthenticationProvider(UserDetailsService userDetailsService) {
+        super(userDetailsService);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication.getDetails() instanceof LoginTimings timings)) {
+            return super.authenticate(authentication);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.authenticate(authentication);
+        } finally {
+            long total = System.nanoTime() - start;
+            timings.recordLookup(Math.max(total - timings.getHashNanos() - timings.getUpgradeNanos(), 0));
+        }
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+            UsernamePasswordAuthenticationToken authentication) throws AuthenticationException {
+        long start = System.nanoTime();
+        try {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+        } finally {
+            if (authentication.getDetails() instanceof LoginTimings timings) {
+                timings.recordHash(System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+            UserDetails user) {
+        long start = System.nanoTime();
+        Authentication result = super.createSuccessAuthentication(principal, authentication, user);
+        if (authentication.getDetails() instanceof LoginTimings timings) {
+            timings.recordUpgrade(System.nanoTime() - start);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.infra.security;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.infra.common.BloomFilter;
+import com.example.infra.redis.RedisGuard;
+import com.example.infra.redis.RedisPubSub;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 按jti撤销访问令牌
+ * 撤销记录以Redis为准（键随令牌过期），并通过发布订阅同步到各节点的布隆过滤器。
+ * 未撤销的令牌只需一次布隆过滤器判定；只有命中过滤器时才查本地记录或Redis排除误判。
+ */
+@Component
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final String CHANNEL = "auth:revocation";
+    private static final String KEY_PREFIX = "auth:revoked:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisGuard redisGuard;
+    private final RedisPubSub redisPubSub;
+
+    @Value("${jwt.expiration}")
+    private int jwtExpirationInSec;
+
+    @Value("${app.security.token-revocation.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${app.security.token-revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * 本节点已知的撤销记录（本地撤销或收到广播），条目保留一个令牌有效期
+     */
+    private Cache<String, Boolean> knownRevocations;
+
+    public TokenRevocationService(StringRedisTemplate redisTemplate, RedisGuard redisGuard, RedisPubSub redisPubSub) {
+        this.redisTemplate = redisTemplate;
+        this.redisGuard = redisGuard;
+        this.redisPubSub = redisPubSub;
+    }
+
+    @PostConstruct
+    public void init() {
+        bloomFilter = BloomFilter.create(expectedRevocations, falsePositiveRate);
+        knownRevocations = Caffeine.newBuilder()
+                .expireAfterWrite(jwtExpirationInSec, TimeUnit.SECONDS)
+                .build();
+        redisPubSub.subscribe(CHANNEL, this::markRevoked);
+    }
+
+    /**
+     * 撤销令牌
+     * @param jti 令牌ID
+     * @param expiresAt 令牌过期时间
+     */
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return;
+        }
+        long ttlMillis = expiresAt.getTime() - System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            return;
+        }
+
+        markRevoked(jti);
+        if (redisGuard.isAvailable()) {
+            try {
+                redisTemplate.opsForValue().set(KEY_PREFIX + jti, "1", ttlMillis, TimeUnit.MILLISECONDS);
+            } catch (DataAccessException e) {
+                redisGuard.markUnavailable(e);
+            }
+        }
+        redisPubSub.publish(CHANNEL, jti);
+    }
+
+    /**
+     * 令牌是否已被撤销
+     * @param jti 令牌ID
+     * @return 是否撤销
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        if (knownRevocations.getIfPresent(jti) != null) {
+            return true;
+        }
+
+        // 布隆过滤器可能误判，以Redis为准
+        if (redisGuard.isAvailable()) {
+            try {
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + jti))) {
+                    knownRevocations.put(jti, Boolean.TRUE);
+                    return true;
+                }
+            } catch (DataAccessException e) {
+                redisGuard.markUnavailable(e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 定期按Redis中仍有效的撤销记录重建布隆过滤器，清除已过期令牌占用的位
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.security.token-revocation.rebuild-interval:10m}")
+    public void rebuild() {
+        if (!redisGuard.isAvailable()) {
+            return;
+        }
+
+        BloomFilter rebuilt = BloomFilter.create(expectedRevocations, falsePositiveRate);
+        int count = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions()
+                .match(KEY_PREFIX + "*")
+                .count(1000)
+                .build())) {
+            while (cursor.hasNext()) {
+                rebuilt.put(cursor.next().substring(KEY_PREFIX.length()));
+                count++;
+            }
+        } catch (DataAccessException e) {
+            redisGuard.markUnavailable(e);
+            return;
+        }
+
+        // 切换前后各补一次本地记录，避免重建期间新撤销的令牌丢失
+        knownRevocations.asMap().keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        knownRevocations.asMap().keySet().forEach(rebuilt::put);
+        logger.debug("令牌撤销过滤器已重建，记录数: {}", count);
+    }
+
+    private void markRevoked(String jti) {
+        knownRevocations.put(jti, Boolean.TRUE);
+        bloomFilter.put(jti);
+    }
+}
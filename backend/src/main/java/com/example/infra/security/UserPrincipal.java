@@ -0,0 +1,61 @@
+package com.example.infra.security;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import com.example.core.entity.User;
+
+/**
+ * 认证主体，在Spring Security用户之外携带用户ID、状态和基本资料
+ * 登录时认证主体即为唯一一次查询的结果，构建登录响应不再回查数据库
+ */
+public class UserPrincipal extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+    private final User.UserStatus status;
+    private final String email;
+    private final String nickname;
+    private final String phone;
+
+    public UserPrincipal(Long id, String username, String password, User.UserStatus status,
+            Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, password, status, null, null, null, authorities);
+    }
+
+    public UserPrincipal(Long id, String username, String password, User.UserStatus status,
+            String email, String nickname, String phone, Collection<? extends GrantedAuthority> authorities) {
+        super(username,
+                password,
+                status == User.UserStatus.ACTIVE,
+                true,
+                true,
+                status != User.UserStatus.LOCKED,
+                authorities);
+        this.id = id;
+        this.status = status;
+        this.email = email;
+        this.nickname = nickname;
+        this.phone = phone;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User.UserStatus getStatus() {
+        return status;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+}
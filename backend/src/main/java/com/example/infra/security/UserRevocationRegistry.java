@@ -0,0 +1,76 @@
+package com.example.infra.security;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.core.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 用户级令牌撤销登记
+ * 用户被锁定、禁用或修改密码后，记录撤销时间，此前签发的令牌一律视为无效。
+ * 条目只需保留一个令牌有效期，之后旧令牌自然过期。
+ */
+@Component
+public class UserRevocationRegistry {
+
+    @Value("${jwt.expiration}")
+    private int jwtExpirationInSec;
+
+    /**
+     * 用户名 -> 撤销时间（毫秒）
+     */
+    private Cache<String, Long> revokedAt;
+
+    @PostConstruct
+    public void init() {
+        revokedAt = Caffeine.newBuilder()
+                .expireAfterWrite(jwtExpirationInSec, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * 撤销该用户此前签发的全部令牌
+     * @param username 用户名
+     * @param timestamp 撤销时间（毫秒）
+     */
+    public void revoke(String username, long timestamp) {
+        revokedAt.asMap().merge(username, timestamp, Math::max);
+    }
+
+    /**
+     * 令牌是否已被撤销
+     * @param parsedToken 已验签的令牌
+     * @return 是否撤销
+     */
+    public boolean isRevoked(ParsedToken parsedToken) {
+        Date issuedAt = parsedToken.getIssuedAt();
+        // iat精度为秒，同一秒内签发的令牌也按已撤销处理
+        return isRevoked(parsedToken.getSubject(), issuedAt == null ? Long.MIN_VALUE : issuedAt.getTime());
+    }
+
+    /**
+     * 在给定时间签发给该用户的令牌是否已被撤销
+     * @param username 用户名
+     * @param issuedAt 签发时间（毫秒）
+     * @return 是否撤销
+     */
+    public boolean isRevoked(String username, long issuedAt) {
+        Long revokedTime = revokedAt.getIfPresent(username);
+        return revokedTime != null && issuedAt <= revokedTime;
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.revokesTokens()) {
+            revoke(event.getUsername(), event.getOccurredAt());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.infra.security.FastJwtCodec;
+import com.example.infra.security.ParsedToken;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JWT验证基准：jjwt完整解析 vs FastJwtCodec
+ * 运行：mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * 然后 java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.benchmark.JwtValidationBenchmark
+ * 结果中 gc.alloc.rate.norm 即每次验证分配的字节数
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final byte[] SECRET = "mySecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private JwtParser jwtParser;
+    private FastJwtCodec codec;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        Key signingKey = Keys.hmacShaKeyFor(SECRET);
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        codec = new FastJwtCodec(SECRET, jwtParser);
+        token = Jwts.builder()
+                .claim("uid", 1L)
+                .claim("status", "ACTIVE")
+                .claim("roles", List.of("ROLE_USER"))
+                .setSubject("admin")
+                .setId("0b6f3c5e-2f41-4a43-9d57-6a1f0c2b7e11")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .signWith(signingKey, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims jjwt() {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public ParsedToken fastCodec() {
+        return codec.decode(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
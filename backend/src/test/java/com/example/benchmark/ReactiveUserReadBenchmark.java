@@ -0,0 +1,228 @@
+package com.example.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.example.api.dto.response.UserResponse;
+import com.example.core.repository.ReactiveUserRepository;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 用户按ID查询：JDBC阻塞调用 vs R2DBC非阻塞调用在并发下的耗时
+ * 以H2内存库代替MySQL，每条语句额外加latencyMs模拟网络往返：
+ * JDBC在请求线程上持有连接休眠，R2DBC持有连接用定时器等待、不占线程（r2dbc-h2本身在调用线程上同步执行，
+ * 不加延迟时两者都只反映CPU开销）。两种方式都由THREADS个“Servlet线程”接收请求、使用CONNECTIONS个连接。
+ * 运行：mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * 然后 java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.benchmark.ReactiveUserReadBenchmark
+ * 结果为一批concurrency个并发请求全部完成的耗时：阻塞方式受线程数限制，非阻塞方式受连接数限制
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReactiveUserReadBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int CONNECTIONS = 32;
+    private static final int USERS = 10_000;
+
+    private static final String SELECT_BY_ID =
+            "SELECT id, username, nickname, email, phone, status FROM users WHERE id = ?";
+
+    @Param({"16", "64", "256"})
+    private int concurrency;
+
+    @Param({"0", "5"})
+    private int latencyMs;
+
+    private ExecutorService servletThreads;
+    private Scheduler servletScheduler;
+    private JdbcConnectionPool jdbcPool;
+    private JdbcTemplate jdbcTemplate;
+    private ConnectionPool r2dbcPool;
+    private ReactiveUserRepository reactiveUserRepository;
+
+    @Setup
+    public void setUp() {
+        servletThreads = Executors.newFixedThreadPool(THREADS);
+        servletScheduler = Schedulers.fromExecutorService(servletThreads);
+
+        jdbcPool = JdbcConnectionPool.create("jdbc:h2:mem:reactive_bench;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcPool.setMaxConnections(CONNECTIONS);
+        jdbcTemplate = new JdbcTemplate(jdbcPool);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT PRIMARY KEY, username VARCHAR(50), "
+                + "nickname VARCHAR(50), email VARCHAR(100), phone VARCHAR(20), status VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM users");
+        List<Object[]> rows = new ArrayList<>(USERS);
+        for (long id = 1; id <= USERS; id++) {
+            rows.add(new Object[] {id, "user" + id, "用户" + id, "user" + id + "@example.com",
+                    "138" + String.format("%08d", id), "ACTIVE"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        ConnectionFactory h2 = ConnectionFactories.get("r2dbc:h2:mem://sa@/reactive_bench?options=DB_CLOSE_DELAY=-1");
+        r2dbcPool = new ConnectionPool(ConnectionPoolConfiguration.builder(withLatency(h2, latencyMs))
+                .initialSize(CONNECTIONS)
+                .maxSize(CONNECTIONS)
+                .maxAcquireTime(Duration.ofSeconds(30))
+                .build());
+        reactiveUserRepository = new ReactiveUserRepository(DatabaseClient.create(r2dbcPool));
+    }
+
+    @TearDown
+    public void tearDown() {
+        r2dbcPool.dispose();
+        jdbcPool.dispose();
+        servletThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public int blockingJdbc() throws Exception {
+        List<Future<UserResponse>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(servletThreads.submit(() -> jdbcTemplate.execute((java.sql.Connection connection) -> {
+                UserResponse user;
+                try (var statement = connection.prepareStatement(SELECT_BY_ID)) {
+                    statement.setLong(1, randomId());
+                    try (var resultSet = statement.executeQuery()) {
+                        resultSet.next();
+                        user = new UserResponse(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                                resultSet.getString(4), resultSet.getString(5), resultSet.getString(6));
+                    }
+                }
+                sleep(latencyMs);
+                return user;
+            })));
+        }
+        int found = 0;
+        for (Future<UserResponse> future : futures) {
+            found += future.get() != null ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int reactiveR2dbc() {
+        // 每个请求在Servlet线程上发起查询后立即返回，等待期间线程可处理其他请求
+        return Flux.range(0, concurrency)
+                .flatMap(i -> Mono.defer(() -> reactiveUserRepository.findResponseById(randomId()))
+                        .subscribeOn(servletScheduler), concurrency)
+                .count()
+                .block()
+                .intValue();
+    }
+
+    private static long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, USERS + 1);
+    }
+
+    private static void sleep(int millis) {
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 每条语句执行前持有连接等待latencyMs，等待由定时器完成、不占用线程
+     */
+    @SuppressWarnings("unchecked")
+    private static ConnectionFactory withLatency(ConnectionFactory delegate, int latencyMs) {
+        if (latencyMs == 0) {
+            return delegate;
+        }
+        return proxy(ConnectionFactory.class, delegate, (method, args) -> {
+            Object result = method.invoke(delegate, args);
+            if (method.getName().equals("create")) {
+                return Mono.from((org.reactivestreams.Publisher<? extends Connection>) result)
+                        .map(connection -> delayedConnection(connection, latencyMs));
+            }
+            return result;
+        });
+    }
+
+    private static Connection delayedConnection(Connection delegate, int latencyMs) {
+        return proxy(Connection.class, delegate, (method, args) -> {
+            Object result = method.invoke(delegate, args);
+            if (method.getName().equals("createStatement")) {
+                Statement statement = (Statement) result;
+                return proxy(Statement.class, statement, (statementMethod, statementArgs) -> {
+                    if (statementMethod.getName().equals("execute")) {
+                        return Mono.delay(Duration.ofMillis(latencyMs)).thenMany(statement.execute());
+                    }
+                    return statementMethod.invoke(statement, statementArgs);
+                });
+            }
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object invoke(Method method, Object[] args) throws Exception;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T delegate, Invocation invocation) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            try {
+                Object result = invocation.invoke(method, args);
+                // bind等链式方法返回代理自身，保证后续execute仍经过代理
+                return result == delegate ? proxy : result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ReactiveUserReadBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.api.dto.response.UserPageResponse;
+import com.example.api.dto.response.UserResponse;
+import com.example.infra.common.Result;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * 用户列表序列化基准：Map包装的旧响应 vs 类型化分页响应（每次按类型查找序列化器 / 预先构建的ObjectWriter）
+ * 运行：mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * 然后 java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.example.benchmark.UserListSerializationBenchmark
+ * 结果为每次序列化一页的耗时，gc.alloc.rate.norm 为每次分配的字节数
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserListSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper defaultMapper;
+    private ObjectWriter typedWriter;
+    private Result<Map<String, Object>> mapResult;
+    private Result<UserPageResponse> typedResult;
+
+    @Setup
+    public void setUp() {
+        // 与Spring Boot默认配置相同的ObjectMapper
+        defaultMapper = Jackson2ObjectMapperBuilder.json().build();
+        typedWriter = defaultMapper.writerFor(new TypeReference<Result<UserPageResponse>>() {});
+
+        List<UserResponse> users = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            users.add(new UserResponse(id, "user" + id, "用户" + id, "user" + id + "@example.com",
+                    "138" + String.format("%08d", id), "ACTIVE"));
+        }
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("users", users);
+        map.put("page", 0);
+        map.put("size", pageSize);
+        map.put("total", 123456L);
+        map.put("nextCursor", (long) pageSize);
+        mapResult = Result.success(map);
+        typedResult = Result.success(UserPageResponse.ofPage(users, 0, pageSize, 123456L));
+    }
+
+    @Benchmark
+    public byte[] mapWithDefaultMapper() throws JsonProcessingException {
+        return defaultMapper.writeValueAsBytes(mapResult);
+    }
+
+    @Benchmark
+    public byte[] typedWithDefaultMapper() throws JsonProcessingException {
+        return defaultMapper.writeValueAsBytes(typedResult);
+    }
+
+    @Benchmark
+    public byte[] typedWithCachedWriter() throws JsonProcessingException {
+        return typedWriter.writeValueAsBytes(typedResult);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(UserListSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
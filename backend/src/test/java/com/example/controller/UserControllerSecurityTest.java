@@ -0,0 +1,154 @@
+package com.example.controller;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.api.controller.UserController;
+import com.example.api.dto.response.UserImportResponse;
+import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.User;
+import com.example.core.service.UserExportService;
+import com.example.core.service.UserImportService;
+import com.example.core.service.UserService;
+import com.example.infra.config.PasswordProperties;
+import com.example.infra.config.SecurityConfig;
+import com.example.infra.security.CustomUserDetailsService;
+import com.example.infra.security.JwtAuthenticationFilter;
+import com.example.infra.security.JwtTokenProvider;
+import com.example.infra.security.TokenRevocationService;
+import com.example.infra.security.UserRevocationRegistry;
+
+/**
+ * 用户接口的访问控制测试
+ * 使用真实的安全过滤器链，管理操作只允许ROLE_ADMIN；另验证列表分页游标只在结果按ID排序时返回
+ */
+@WebMvcTest(controllers = UserController.class, properties = "app.security.password.strength=4")
+@Import({SecurityConfig.class, PasswordProperties.class, JwtAuthenticationFilter.class})
+class UserControllerSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private UserExportService userExportService;
+
+    @MockitoBean
+    private UserImportService userImportService;
+
+    @MockitoBean
+    private JwtTokenProvider tokenProvider;
+
+    @MockitoBean
+    private CustomUserDetailsService userDetailsService;
+
+    @MockitoBean
+    private UserRevocationRegistry userRevocationRegistry;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void updateUserStatus_PlainUser_IsForbidden() throws Exception {
+        mockMvc.perform(put("/users/1/status").param("status", "LOCKED"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateUserStatus_Admin_IsAllowed() throws Exception {
+        when(userService.updateUserStatus(eq(1L), eq(User.UserStatus.LOCKED))).thenReturn(
+                new UserResponse(1L, "alice", null, "alice@example.com", null, User.UserStatus.LOCKED));
+
+        mockMvc.perform(put("/users/1/status").param("status", "LOCKED"))
+                .andExpect(status().isOk());
+
+        verify(userService).updateUserStatus(1L, User.UserStatus.LOCKED);
+    }
+
+    @Test
+    void updateUserStatus_Anonymous_IsUnauthorized() throws Exception {
+        // 未认证返回401，前端据此刷新令牌
+        mockMvc.perform(put("/users/1/status").param("status", "LOCKED"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void exportUsers_PlainUser_IsForbidden() throws Exception {
+        mockMvc.perform(get("/users/export"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(userExportService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportUsers_Admin_IsAllowed() throws Exception {
+        mockMvc.perform(get("/users/export").param("format", "csv"))
+                .andExpect(status().isOk());
+
+        verify(userExportService).exportUsers(isNull(), eq(UserExportService.Format.CSV), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void importUsers_PlainUser_IsForbidden() throws Exception {
+        mockMvc.perform(multipart("/users/import").file(csv()))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(userImportService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importUsers_Admin_IsAllowed() throws Exception {
+        when(userImportService.importUsers(any())).thenReturn(new UserImportResponse());
+
+        mockMvc.perform(multipart("/users/import").file(csv()))
+                .andExpect(status().isOk());
+
+        verify(userImportService).importUsers(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getUserList_CursorOnlyWhenOrderedById() throws Exception {
+        List<UserResponse> page = List.of(
+                new UserResponse(7L, "alice", null, "alice@example.com", null, User.UserStatus.ACTIVE));
+        when(userService.getUserList(eq(0), eq(1), any(), any())).thenReturn(page);
+
+        mockMvc.perform(get("/users").param("size", "1").param("total", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nextCursor").value(7));
+
+        // 关键词搜索按相关度排序，最后一条的ID不能作为after游标
+        mockMvc.perform(get("/users").param("size", "1").param("total", "none").param("keyword", "ali"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    private static MockMultipartFile csv() {
+        return new MockMultipartFile("file", "users.csv", "text/csv", "username,password\nalice,secret\n".getBytes());
+    }
+}
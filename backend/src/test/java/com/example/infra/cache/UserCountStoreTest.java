@@ -0,0 +1,133 @@
+package com.example.infra.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
+import com.example.core.repository.UserRepository;
+
+/**
+ * 用户数量计数测试
+ * 数据库的分组计数用内存Map模拟，覆盖首次读取时加载、新增删除和状态变更的增量维护、未加载时忽略事件，
+ * 以及对账修正漏掉的变更
+ */
+class UserCountStoreTest {
+
+    private final Map<User.UserStatus, Long> database = new EnumMap<>(User.UserStatus.class);
+    private UserRepository userRepository;
+    private UserCountStore userCountStore;
+
+    @BeforeEach
+    void setUp() {
+        database.put(User.UserStatus.ACTIVE, 3L);
+        database.put(User.UserStatus.LOCKED, 1L);
+        userRepository = mock(UserRepository.class);
+        when(userRepository.countGroupByStatus()).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            database.forEach((status, count) -> rows.add(new Object[] {status, count}));
+            return rows;
+        });
+        userCountStore = new UserCountStore(userRepository);
+    }
+
+    @Test
+    void getCount_LoadsOnceFromDatabase() {
+        assertEquals(4, userCountStore.getCount(null));
+        assertEquals(3, userCountStore.getCount(User.UserStatus.ACTIVE));
+        assertEquals(0, userCountStore.getCount(User.UserStatus.INACTIVE));
+
+        verify(userRepository, times(1)).countGroupByStatus();
+    }
+
+    @Test
+    void created_IncrementsTotalAndStatus() {
+        userCountStore.getCount(null);
+
+        userCountStore.onUserChanged(event(UserChangedEvent.ChangeType.CREATED, null, User.UserStatus.LOCKED));
+
+        assertEquals(5, userCountStore.getCount(null));
+        assertEquals(2, userCountStore.getCount(User.UserStatus.LOCKED));
+        assertEquals(3, userCountStore.getCount(User.UserStatus.ACTIVE));
+    }
+
+    @Test
+    void deleted_DecrementsTotalAndStatus() {
+        userCountStore.getCount(null);
+
+        userCountStore.onUserChanged(event(UserChangedEvent.ChangeType.DELETED, User.UserStatus.ACTIVE,
+                User.UserStatus.ACTIVE));
+
+        assertEquals(3, userCountStore.getCount(null));
+        assertEquals(2, userCountStore.getCount(User.UserStatus.ACTIVE));
+    }
+
+    @Test
+    void statusChanged_MovesBetweenStatusesWithoutChangingTotal() {
+        userCountStore.getCount(null);
+
+        userCountStore.onUserChanged(event(UserChangedEvent.ChangeType.STATUS_CHANGED, User.UserStatus.ACTIVE,
+                User.UserStatus.INACTIVE));
+
+        assertEquals(4, userCountStore.getCount(null));
+        assertEquals(2, userCountStore.getCount(User.UserStatus.ACTIVE));
+        assertEquals(1, userCountStore.getCount(User.UserStatus.INACTIVE));
+    }
+
+    @Test
+    void otherChanges_DoNotAffectCounts() {
+        userCountStore.getCount(null);
+
+        userCountStore.onUserChanged(event(UserChangedEvent.ChangeType.UPDATED, User.UserStatus.ACTIVE,
+                User.UserStatus.ACTIVE));
+        userCountStore.onUserChanged(event(UserChangedEvent.ChangeType.PASSWORD_CHANGED, User.UserStatus.ACTIVE,
+                User.UserStatus.ACTIVE));
+
+        assertEquals(4, userCountStore.getCount(null));
+        assertEquals(3, userCountStore.getCount(User.UserStatus.ACTIVE));
+    }
+
+    @Test
+    void eventsBeforeFirstRead_AreIgnored() {
+        // 尚未加载时的事件不计入，首次读取直接取数据库中已包含该变更的值
+        userCountStore.onUserChanged(event(UserChangedEvent.ChangeType.CREATED, null, User.UserStatus.ACTIVE));
+        database.put(User.UserStatus.ACTIVE, 4L);
+
+        assertEquals(5, userCountStore.getCount(null));
+        assertEquals(4, userCountStore.getCount(User.UserStatus.ACTIVE));
+    }
+
+    @Test
+    void reconcile_CorrectsMissedChanges() {
+        userCountStore.getCount(null);
+        // 其他节点新增的用户，本节点没有收到事件
+        database.put(User.UserStatus.ACTIVE, 5L);
+        assertEquals(4, userCountStore.getCount(null), "对账前仍是增量维护的值");
+
+        userCountStore.reconcile();
+
+        assertEquals(6, userCountStore.getCount(null));
+        assertEquals(5, userCountStore.getCount(User.UserStatus.ACTIVE));
+    }
+
+    @Test
+    void reconcile_BeforeFirstRead_DoesNotQuery() {
+        userCountStore.reconcile();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    private static UserChangedEvent event(UserChangedEvent.ChangeType type, User.UserStatus previousStatus,
+            User.UserStatus status) {
+        return new UserChangedEvent(1L, "alice", "alice@example.com", type, previousStatus, status, 1L,
+                System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.infra.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.function.Consumer;
+
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
+import com.example.infra.redis.RedisPubSub;
+import com.example.infra.security.UserRevocationRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 跨节点用户缓存失效测试
+ * 两个实例模拟两个节点，消息通过捕获的发布内容在节点间传递
+ */
+class UserInvalidationBusTest {
+
+    private Node nodeA;
+    private Node nodeB;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new Node();
+        nodeB = new Node();
+        alice = new User("alice", "encodedPassword");
+        alice.setId(1L);
+        alice.setEmail("alice@example.com");
+        alice.setVersion(3);
+    }
+
+    @Test
+    void remoteChange_EvictsLocalEntriesOnOtherNodes() {
+        alice.setStatus(User.UserStatus.LOCKED);
+        UserChangedEvent event = UserChangedEvent.statusChanged(alice, User.UserStatus.ACTIVE);
+        nodeA.bus.onUserChanged(event);
+
+        nodeB.receive(nodeA.published());
+
+        verify(nodeB.userLookupCache).evictLocal("alice", "alice@example.com");
+        verify(nodeB.secondLevelCache).evictEntityData(User.class, 1L);
+        verify(nodeB.secondLevelCache).evictQueryRegion(User.QUERY_CACHE_REGION);
+        ArgumentCaptor<UserChangedEvent> received = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(nodeB.userRevocationRegistry).onUserChanged(received.capture());
+        assertTrue(received.getValue().revokesTokens());
+        assertEquals(3, received.getValue().getVersion());
+        // 撤销时间沿用变更节点的时间
+        assertEquals(event.getOccurredAt(), received.getValue().getOccurredAt());
+    }
+
+    @Test
+    void ownBroadcast_IsIgnored() {
+        nodeA.bus.onUserChanged(UserChangedEvent.of(alice, UserChangedEvent.ChangeType.UPDATED));
+
+        nodeA.receive(nodeA.published());
+
+        verifyNoInteractions(nodeA.userLookupCache, nodeA.userRevocationRegistry, nodeA.secondLevelCache);
+    }
+
+    @Test
+    void malformedMessage_IsIgnored() {
+        nodeB.receive("not json");
+
+        verifyNoInteractions(nodeB.userLookupCache, nodeB.userRevocationRegistry, nodeB.secondLevelCache);
+    }
+
+    @Test
+    void resubscribe_FlushesAllLocalUserCaches() {
+        ArgumentCaptor<Runnable> callback = ArgumentCaptor.forClass(Runnable.class);
+        verify(nodeB.redisPubSub).onResubscribed(callback.capture());
+
+        callback.getValue().run();
+
+        verify(nodeB.userLookupCache).evictAllLocal();
+        verify(nodeB.secondLevelCache).evictEntityData(User.class);
+        verify(nodeB.secondLevelCache).evictNaturalIdData(User.class);
+        verify(nodeB.secondLevelCache).evictQueryRegion(User.QUERY_CACHE_REGION);
+    }
+
+    /**
+     * 一个节点：本地缓存均为mock，发布订阅记录发布内容和订阅的处理器
+     */
+    private static final class Node {
+
+        private final RedisPubSub redisPubSub = mock(RedisPubSub.class);
+        private final UserLookupCache userLookupCache = mock(UserLookupCache.class);
+        private final UserRevocationRegistry userRevocationRegistry = mock(UserRevocationRegistry.class);
+        private final Cache secondLevelCache = mock(Cache.class);
+        private final UserInvalidationBus bus;
+
+        private Node() {
+            EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class, RETURNS_DEEP_STUBS);
+            when(entityManagerFactory.getCache().unwrap(Cache.class)).thenReturn(secondLevelCache);
+            bus = new UserInvalidationBus(redisPubSub, new ObjectMapper(), userLookupCache, userRevocationRegistry,
+                    entityManagerFactory);
+            bus.init();
+        }
+
+        private String published() {
+            ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+            verify(redisPubSub).publish(eq(UserInvalidationBus.CHANNEL), message.capture());
+            return message.getValue();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void receive(String message) {
+            ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+            verify(redisPubSub).subscribe(eq(UserInvalidationBus.CHANNEL), handler.capture());
+            handler.getValue().accept(message);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.infra.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
+import com.example.core.repository.UserRepository;
+import com.example.infra.config.UserCacheProperties;
+import com.example.infra.redis.RedisGuard;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 用户查找缓存测试
+ * Redis用内存Map模拟，覆盖本地 -> Redis -> 数据库的逐级回源、变更后的失效、Redis不可用时的降级，
+ * 以及密码哈希只保存在本地快照中
+ */
+class UserLookupCacheTest {
+
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private UserRepository userRepository;
+    private ValueOperations<String, String> operations;
+    private RedisGuard redisGuard;
+    private User alice;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        alice = new User("alice", "{bcrypt}hash");
+        alice.setId(1L);
+        alice.setEmail("Alice@Example.com");
+        when(userRepository.findByUsernameOrEmail(anyString())).thenAnswer(invocation -> {
+            String key = invocation.<String>getArgument(0);
+            return key.equalsIgnoreCase("alice") || key.equalsIgnoreCase("alice@example.com")
+                    ? Optional.of(alice) : Optional.empty();
+        });
+
+        operations = mock(ValueOperations.class);
+        when(operations.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(operations).set(anyString(), anyString(), any(Duration.class));
+        redisGuard = new RedisGuard(Duration.ofSeconds(30));
+    }
+
+    private UserLookupCache newCache() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(operations);
+        when(redisTemplate.delete(anyString()))
+                .thenAnswer(invocation -> redis.remove(invocation.<String>getArgument(0)) != null);
+        return new UserLookupCache(userRepository, redisTemplate, new ObjectMapper(), new UserCacheProperties(),
+                redisGuard);
+    }
+
+    @Test
+    void lookup_FallsThroughLocalRedisAndDatabase() {
+        UserLookupCache node1 = newCache();
+
+        // 首次查询数据库并写入Redis，键不区分大小写
+        assertEquals(1L, node1.findByUsernameOrEmail("ALICE").orElseThrow().getId());
+        assertTrue(redis.containsKey("user:lookup:alice"));
+        assertEquals(1L, node1.findByUsernameOrEmail("alice").orElseThrow().getId());
+        verify(userRepository, times(1)).findByUsernameOrEmail(anyString());
+
+        // 另一个节点本地未命中，从Redis读取，不查询数据库
+        UserLookupCache node2 = newCache();
+        assertTrue(node2.findCached("alice").isEmpty());
+        assertEquals("alice", node2.findByUsernameOrEmail("alice").orElseThrow().getUsername());
+        assertTrue(node2.findCached("alice").isPresent());
+        verify(userRepository, times(1)).findByUsernameOrEmail(anyString());
+    }
+
+    @Test
+    void missingUser_IsNotCached() {
+        UserLookupCache cache = newCache();
+
+        assertTrue(cache.findByUsernameOrEmail("nobody").isEmpty());
+        assertTrue(cache.findByUsernameOrEmail("nobody").isEmpty());
+
+        verify(userRepository, times(2)).findByUsernameOrEmail("nobody");
+        assertTrue(redis.isEmpty());
+    }
+
+    @Test
+    void userChanged_EvictsUsernameAndEmailFromBothTiers() {
+        UserLookupCache cache = newCache();
+        cache.findByUsernameOrEmail("alice");
+        cache.findByUsernameOrEmail("alice@example.com");
+        assertEquals(2, redis.size());
+
+        alice.setStatus(User.UserStatus.LOCKED);
+        cache.onUserChanged(UserChangedEvent.of(alice, UserChangedEvent.ChangeType.STATUS_CHANGED));
+
+        assertTrue(redis.isEmpty());
+        assertTrue(cache.findCached("alice").isEmpty());
+        assertTrue(cache.findCached("alice@example.com").isEmpty());
+        assertEquals(User.UserStatus.LOCKED, cache.findByUsernameOrEmail("alice").orElseThrow().getStatus());
+        verify(userRepository, times(3)).findByUsernameOrEmail(anyString());
+    }
+
+    @Test
+    void redisSnapshot_HoldsNoPasswordHash() {
+        UserLookupCache node1 = newCache();
+        assertEquals("{bcrypt}hash", node1.findForAuthentication("alice").orElseThrow().getPassword());
+        assertFalse(redis.get("user:lookup:alice").contains("hash"));
+        assertFalse(redis.get("user:lookup:alice").contains("password"));
+
+        // 本节点带哈希的本地快照直接用于认证
+        assertEquals("{bcrypt}hash", node1.findForAuthentication("alice").orElseThrow().getPassword());
+        verify(userRepository, times(1)).findByUsernameOrEmail(anyString());
+
+        // 另一个节点从Redis得到的快照没有哈希，认证时回源数据库
+        UserLookupCache node2 = newCache();
+        assertNull(node2.findByUsernameOrEmail("alice").orElseThrow().getPassword());
+        assertEquals("{bcrypt}hash", node2.findForAuthentication("alice").orElseThrow().getPassword());
+        verify(userRepository, times(2)).findByUsernameOrEmail(anyString());
+    }
+
+    @Test
+    void legacyRedisSnapshotWithHash_DropsHashOnRead() {
+        redis.put("user:lookup:alice", "{\"id\":1,\"username\":\"alice\",\"password\":\"{bcrypt}old\","
+                + "\"status\":\"ACTIVE\",\"roles\":[\"ROLE_USER\"]}");
+
+        UserSnapshot snapshot = newCache().findByUsernameOrEmail("alice").orElseThrow();
+
+        assertEquals(1L, snapshot.getId());
+        assertNull(snapshot.getPassword());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void redisDown_FallsBackToDatabase() {
+        when(operations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        UserLookupCache cache = newCache();
+
+        assertEquals(1L, cache.findByUsernameOrEmail("alice").orElseThrow().getId());
+        assertFalse(redisGuard.isAvailable());
+
+        // 熔断期间不再访问Redis，本地缓存仍然生效
+        assertEquals(1L, cache.findByUsernameOrEmail("alice").orElseThrow().getId());
+        verify(operations, times(1)).get(anyString());
+        verify(userRepository, times(1)).findByUsernameOrEmail(anyString());
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.infra.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
+import com.example.core.repository.VersionedUserResponse;
+import com.example.infra.config.UserReadCacheProperties;
+import com.example.infra.redis.RedisGuard;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 用户读缓存测试
+ * Redis用内存Map模拟，覆盖命中与未命中、过期后返回旧值并只刷新一次、并发未命中只查询一次、写入后的失效，
+ * 以及变更前发起的慢加载或延迟副本读到的旧行不会写回缓存
+ */
+class UserReadCacheTest {
+
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserReadCacheProperties properties;
+    private UserReadCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> operations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(operations);
+        when(operations.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(operations).set(anyString(), anyString(), any(Duration.class));
+        when(operations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation ->
+                redis.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        when(operations.increment(anyString())).thenAnswer(invocation ->
+                Long.valueOf(redis.merge(invocation.getArgument(0), "1",
+                        (current, one) -> String.valueOf(Long.parseLong(current) + 1))));
+        when(redisTemplate.delete(anyString()))
+                .thenAnswer(invocation -> redis.remove(invocation.<String>getArgument(0)) != null);
+
+        properties = new UserReadCacheProperties();
+        properties.setJitter(0);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        cache = new UserReadCache(redisTemplate, new ObjectMapper(), properties, new RedisGuard(Duration.ofSeconds(30)),
+                beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.destroy();
+    }
+
+    @Test
+    void getUser_LoadsOnMissThenHits() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("alice", cache.getUser(1L, () -> user(1L, "alice", 1L, loads)).getUser().getUsername());
+        VersionedUserResponse hit = cache.getUser(1L, () -> user(1L, "alice", 1L, loads));
+        assertEquals("alice", hit.getUser().getUsername());
+        assertEquals(1L, hit.getVersion());
+
+        assertEquals(1, loads.get());
+        assertEquals(1, requests("user", "miss"));
+        assertEquals(1, requests("user", "hit"));
+        assertEquals(1, meterRegistry.get("user.read.cache.load").tag("cache", "user").timer().count());
+    }
+
+    @Test
+    void expiredValue_IsServedWhileOneBackgroundRefreshRuns() throws Exception {
+        properties.setTtl(Duration.ZERO);
+        cache.getUser(1L, () -> user(1L, "alice", 1L, new AtomicInteger()));
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger refreshes = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            VersionedUserResponse user = cache.getUser(1L, () -> {
+                refreshes.incrementAndGet();
+                await(release);
+                return user(1L, "alice2", 2L, new AtomicInteger());
+            });
+            assertEquals("alice", user.getUser().getUsername());
+        }
+        release.countDown();
+
+        // 刷新完成后写入新值并释放锁
+        String lockKey = "user:read:lock:user:read:id:1";
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((redis.containsKey(lockKey) || !redis.get("user:read:id:1").contains("alice2"))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(redis.containsKey(lockKey));
+        assertEquals(1, refreshes.get());
+        assertEquals(5, requests("user", "stale"));
+        assertEquals(1, requests("user", "miss"));
+        assertEquals("alice2", cache.getUser(1L, () -> user(1L, "alice3", 3L, new AtomicInteger()))
+                .getUser().getUsername());
+    }
+
+    @Test
+    void concurrentMisses_ShareOneLoad() throws Exception {
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch arrived = new CountDownLatch(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<VersionedUserResponse>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    arrived.countDown();
+                    return cache.getUser(1L, () -> {
+                        await(release);
+                        return user(1L, "alice", 1L, loads);
+                    });
+                }));
+            }
+            assertTrue(arrived.await(5, TimeUnit.SECONDS));
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<VersionedUserResponse> result : results) {
+                assertEquals("alice", result.get(5, TimeUnit.SECONDS).getUser().getUsername());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void userChanged_EvictsUserAndAllListPages() {
+        AtomicInteger loads = new AtomicInteger();
+        User user = new User("alice", "encodedPassword");
+        user.setId(1L);
+
+        cache.getUser(1L, () -> user(1L, "alice", 1L, loads));
+        cache.getUserPage(null, 0, 10, () -> List.of(user(1L, "alice", 1L, loads).getUser()));
+        cache.getUserPageAfter(User.UserStatus.ACTIVE, 0L, 10, () -> List.of(user(1L, "alice", 1L, loads).getUser()));
+        assertEquals(3, loads.get());
+
+        // 密码变更递增版本号，单个用户失效；列表内容不变，不失效
+        user.setVersion(2L);
+        cache.onUserChanged(UserChangedEvent.of(user, UserChangedEvent.ChangeType.PASSWORD_CHANGED));
+        assertEquals(2L, cache.getUser(1L, () -> user(1L, "alice", 2L, loads)).getVersion());
+        cache.getUserPage(null, 0, 10, () -> List.of(user(1L, "alice", 2L, loads).getUser()));
+        assertEquals(4, loads.get());
+
+        user.setVersion(3L);
+        cache.onUserChanged(UserChangedEvent.of(user, UserChangedEvent.ChangeType.UPDATED));
+        assertEquals("alice2", cache.getUser(1L, () -> user(1L, "alice2", 3L, loads)).getUser().getUsername());
+        cache.getUserPage(null, 0, 10, () -> List.of(user(1L, "alice2", 3L, loads).getUser()));
+        cache.getUserPageAfter(User.UserStatus.ACTIVE, 0L, 10, () -> List.of(user(1L, "alice2", 3L, loads).getUser()));
+        assertEquals(7, loads.get());
+        assertEquals(1, requests("user-list", "hit"));
+    }
+
+    @Test
+    void lateLoadAfterChange_IsReturnedButNotCached() throws Exception {
+        User user = new User("alice", "encodedPassword");
+        user.setId(1L);
+        user.setVersion(2L);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // 加载在变更提交前读到版本1的旧行，提交并失效之后才写入缓存
+            Future<VersionedUserResponse> late = executor.submit(() -> cache.getUser(1L, () -> {
+                loading.countDown();
+                await(release);
+                return user(1L, "alice", 1L, new AtomicInteger());
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            cache.onUserChanged(UserChangedEvent.of(user, UserChangedEvent.ChangeType.UPDATED));
+            release.countDown();
+            assertEquals("alice", late.get(5, TimeUnit.SECONDS).getUser().getUsername());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(redis.containsKey("user:read:id:1"));
+
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals("alice2", cache.getUser(1L, () -> user(1L, "alice2", 2L, loads)).getUser().getUsername());
+        assertEquals("alice2", cache.getUser(1L, () -> user(1L, "alice3", 2L, loads)).getUser().getUsername());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void rowOlderThanMinVersion_IsNotCached() {
+        // 失效后从延迟的副本读到旧版本
+        AtomicInteger loads = new AtomicInteger();
+        cache.evictUser(1L, 2L);
+
+        assertEquals(1L, cache.getUser(1L, () -> user(1L, "alice", 1L, loads)).getVersion());
+        assertFalse(redis.containsKey("user:read:id:1"));
+        assertEquals(2L, cache.getUser(1L, () -> user(1L, "alice2", 2L, loads)).getVersion());
+        assertEquals(2L, cache.getUser(1L, () -> user(1L, "alice3", 3L, loads)).getVersion());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void missingUser_IsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> cache.getUser(1L, () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("not found");
+        }));
+        assertFalse(redis.containsKey("user:read:id:1"));
+        assertEquals("alice", cache.getUser(1L, () -> user(1L, "alice", 1L, loads)).getUser().getUsername());
+
+        assertEquals(2, loads.get());
+    }
+
+    private double requests(String cacheName, String result) {
+        return meterRegistry.get("user.read.cache.requests").tag("cache", cacheName).tag("result", result)
+                .counter().count();
+    }
+
+    private static VersionedUserResponse user(Long id, String username, long version, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new VersionedUserResponse(new UserResponse(id, username, null, username + "@example.com", null,
+                User.UserStatus.ACTIVE), version, 1_700_000_000_000L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
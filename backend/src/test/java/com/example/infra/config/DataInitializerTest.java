@@ -0,0 +1,97 @@
+package com.example.infra.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.example.core.entity.Role;
+import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
+import com.example.core.repository.RoleRepository;
+import com.example.core.repository.UserRepository;
+import com.example.support.H2DataJpaTest;
+import com.example.support.TestUsers;
+
+/**
+ * 初始化数据测试：角色和管理员角色分配与用户数据是否已存在无关，重复执行不产生重复数据
+ */
+@H2DataJpaTest
+class DataInitializerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private DataInitializer dataInitializer;
+
+    @BeforeEach
+    void setUp() {
+        dataInitializer = new DataInitializer(userRepository, roleRepository, new BCryptPasswordEncoder(4),
+                eventPublisher);
+    }
+
+    @Test
+    void emptyDatabase_CreatesRolesAndAdminWithRole() throws Exception {
+        dataInitializer.run();
+        entityManager.clear();
+
+        assertEquals(3, userRepository.count());
+        assertEquals(List.of(Role.ADMIN), roleNames(DataInitializer.ADMIN_USERNAME));
+        assertTrue(roleRepository.findByName(Role.USER).isPresent());
+    }
+
+    @Test
+    void existingAdminWithoutRole_GetsAdminRole() throws Exception {
+        TestUsers.save(userRepository, DataInitializer.ADMIN_USERNAME, "admin@example.com", "管理员",
+                User.UserStatus.ACTIVE);
+        entityManager.flush();
+        entityManager.clear();
+
+        dataInitializer.run();
+        entityManager.clear();
+
+        // 已有用户数据，不再创建测试用户
+        assertEquals(1, userRepository.count());
+        assertEquals(List.of(Role.ADMIN), roleNames(DataInitializer.ADMIN_USERNAME));
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void secondRun_ChangesNothing() throws Exception {
+        dataInitializer.run();
+        entityManager.clear();
+        long roles = roleRepository.count();
+        long version = userRepository.findByUsername(DataInitializer.ADMIN_USERNAME).orElseThrow().getVersion();
+        clearInvocations(eventPublisher);
+
+        dataInitializer.run();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(roles, roleRepository.count());
+        assertEquals(3, userRepository.count());
+        assertEquals(version, userRepository.findByUsername(DataInitializer.ADMIN_USERNAME).orElseThrow().getVersion());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private List<String> roleNames(String username) {
+        return userRepository.findByUsername(username).orElseThrow().getRoles().stream()
+                .map(Role::getName).toList();
+    }
+}
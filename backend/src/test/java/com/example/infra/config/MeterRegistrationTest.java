@@ -0,0 +1,90 @@
+package com.example.infra.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.example.infra.datasource.ReplicaRoutingDataSource;
+import com.example.infra.security.BoundedPasswordEncoder;
+import com.example.infra.security.JwtTokenProvider;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 自定义指标注册测试：各组件创建后即注册约定名称和标签的计时器与仪表，
+ * 仪表盘和告警规则按这些名称和标签查询
+ */
+class MeterRegistrationTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void jwtTokenProvider_RegistersParseTimerPerResult() {
+        new JwtTokenProvider(meterRegistryProvider());
+
+        assertEquals(List.of("cached", "invalid", "verified"), tagValues("jwt.parse", "result"));
+    }
+
+    @Test
+    void boundedPasswordEncoder_RegistersHashTimersAndQueueGauge() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4),
+                new PasswordProperties(), meterRegistry);
+        try {
+            assertEquals(List.of("encode", "matches"), tagValues("password.hash", "operation"));
+            assertNotNull(meterRegistry.find("password.hash.wait").timer());
+            assertEquals(0, meterRegistry.get("password.hash.queue").gauge().value());
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void replicaPools_ReportHikariMetricsTaggedByPool() throws Exception {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setDriverClassName("org.h2.Driver");
+        dataSourceProperties.setUsername("sa");
+        dataSourceProperties.setPassword("");
+        dataSourceProperties.afterPropertiesSet();
+        ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+        ReplicaDataSourceProperties.Instance instance = new ReplicaDataSourceProperties.Instance();
+        instance.setUrl("jdbc:h2:mem:meter_replica;DB_CLOSE_DELAY=-1");
+        properties.setInstances(List.of(instance));
+
+        ReplicaDataSourceConfig config = new ReplicaDataSourceConfig(properties);
+        try (HikariDataSource primary = new HikariDataSource()) {
+            primary.setJdbcUrl("jdbc:h2:mem:meter_primary;DB_CLOSE_DELAY=-1");
+            ReplicaRoutingDataSource replicas = config.replicaDataSource(primary, dataSourceProperties,
+                    config.readYourWritesTracker(), meterRegistryProvider());
+            try (Connection connection = replicas.getConnection()) {
+                assertTrue(connection.isValid(1));
+                // 副本连接池不是容器中的Bean，由配置类单独绑定，按pool标签区分；连接池关闭时指标随之移除
+                assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica-0").gauge());
+                assertNotNull(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "replica-0").timer());
+            } finally {
+                replicas.close();
+            }
+        }
+    }
+
+    private ObjectProvider<MeterRegistry> meterRegistryProvider() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        return beanFactory.getBeanProvider(MeterRegistry.class);
+    }
+
+    private List<String> tagValues(String name, String tag) {
+        return meterRegistry.find(name).meters().stream()
+                .map(meter -> meter.getId().getTag(tag))
+                .sorted()
+                .toList();
+    }
+}
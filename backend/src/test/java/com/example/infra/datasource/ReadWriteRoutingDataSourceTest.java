@@ -0,0 +1,164 @@
+package com.example.infra.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 读写分离路由测试
+ * 主库和两个副本各是一个H2内存库，marker表记录库名，按查询结果判断连接来自哪个库
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private SwitchableDataSource replicaA;
+    private SwitchableDataSource replicaB;
+    private ReplicaRoutingDataSource replicas;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        replicaA = new SwitchableDataSource(database("replica_a"));
+        replicaB = new SwitchableDataSource(database("replica_b"));
+        Map<String, DataSource> replicaMap = new LinkedHashMap<>();
+        replicaMap.put("replica-a", replicaA);
+        replicaMap.put("replica-b", replicaB);
+
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        replicas = new ReplicaRoutingDataSource(primary, replicaMap, tracker, Duration.ZERO);
+        DataSource routing = new ReadWriteRoutingDataSource(primary, replicas, tracker);
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_RoundRobinAcrossReplicas() {
+        assertEquals(List.of("replica_a", "replica_b", "replica_a"),
+                List.of(readOnly.execute(status -> marker()), readOnly.execute(status -> marker()),
+                        readOnly.execute(status -> marker())));
+        assertEquals("primary", readWrite.execute(status -> marker()));
+        // 事务外的访问使用主库
+        assertEquals("primary", marker());
+    }
+
+    @Test
+    void readsAfterWrite_StayOnPrimaryForThatUser() {
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET touched = touched + 1"));
+
+        assertEquals("primary", readOnly.execute(status -> marker()));
+        Integer touched = readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT touched FROM marker",
+                Integer.class));
+        assertEquals(1, touched);
+
+        authenticate("bob");
+        assertTrue(readOnly.execute(status -> marker()).startsWith("replica"));
+    }
+
+    @Test
+    void rolledBackWrite_DoesNotPinUser() {
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET touched = touched + 1");
+            status.setRollbackOnly();
+        });
+
+        assertTrue(readOnly.execute(status -> marker()).startsWith("replica"));
+    }
+
+    @Test
+    void unhealthyReplica_IsSkippedUntilRecovered() {
+        replicaA.down = true;
+        replicas.checkHealth();
+        assertEquals(1, replicas.getHealthyReplicaCount());
+        assertEquals("replica_b", readOnly.execute(status -> marker()));
+        assertEquals("replica_b", readOnly.execute(status -> marker()));
+
+        // 取连接失败时立即摘除，全部不可用则回退主库
+        replicaB.down = true;
+        assertEquals("primary", readOnly.execute(status -> marker()));
+        assertEquals(0, replicas.getHealthyReplicaCount());
+
+        replicaA.down = false;
+        replicaB.down = false;
+        replicas.checkHealth();
+        assertEquals(2, replicas.getHealthyReplicaCount());
+    }
+
+    @Test
+    void explicitCredentials_UsePrimary() throws SQLException {
+        try (Connection connection = replicas.getConnection("", "")) {
+            assertEquals("primary", new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                    .queryForObject("SELECT name FROM marker", String.class));
+        }
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS marker");
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(20), touched INT)");
+        jdbc.update("INSERT INTO marker VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    /**
+     * 可模拟宕机的副本
+     */
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        private SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("副本不可用");
+            }
+            return super.getConnection();
+        }
+    }
+}
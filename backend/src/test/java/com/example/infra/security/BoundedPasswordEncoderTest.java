@@ -0,0 +1,163 @@
+package com.example.infra.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.infra.config.PasswordProperties;
+import com.example.infra.exception.BusinessException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 有界密码编码器测试
+ * 被包装的编码器可阻塞，覆盖线程和队列都占满时立即返回503、排队超时返回503，以及耗时指标
+ */
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setPoolSize(1);
+        properties.setQueueCapacity(1);
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+        encoder = newEncoder(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        encoder.destroy();
+    }
+
+    @Test
+    void hashing_DelegatesAndRecordsTimers() {
+        release.countDown();
+
+        assertEquals("encoded:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "encoded:secret"));
+        assertFalse(encoder.matches("wrong", "encoded:secret"));
+
+        assertEquals(1, meterRegistry.get("password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hash").tag("operation", "matches").timer().count());
+        assertEquals(3, meterRegistry.get("password.hash.wait").timer().count());
+    }
+
+    @Test
+    void fullQueue_IsRejectedImmediately() throws Exception {
+        // 第一个任务占用唯一的线程，第二个任务占满队列
+        Future<String> running = callers.submit(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> encoder.encode("second"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.getQueueDepth() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, meterRegistry.get("password.hash.queue").gauge().value());
+
+        long start = System.nanoTime();
+        BusinessException exception = assertThrows(BusinessException.class, () -> encoder.encode("third"));
+        assertEquals(503, exception.getCode());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "拒绝不应等待");
+
+        release.countDown();
+        assertEquals("encoded:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("encoded:second", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void waitTimeout_ReturnsBusyAndCancelsTask() throws Exception {
+        encoder.destroy();
+        PasswordProperties properties = new PasswordProperties();
+        properties.setPoolSize(1);
+        properties.setQueueCapacity(1);
+        properties.setWaitTimeout(Duration.ofMillis(100));
+        encoder = newEncoder(properties);
+
+        long start = System.nanoTime();
+        BusinessException exception = assertThrows(BusinessException.class, () -> encoder.encode("slow"));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(503, exception.getCode());
+        assertTrue(elapsedMillis >= 100 && elapsedMillis < 5000, "应在等待超时后返回: " + elapsedMillis + "ms");
+        // 超时的任务被中断，线程空出后新的请求可以执行
+        release.countDown();
+        assertEquals("encoded:next", encoder.encode("next"));
+    }
+
+    @Test
+    void delegateFailure_IsRethrown() {
+        encoder.destroy();
+        encoder = new BoundedPasswordEncoder(new FailingEncoder(), new PasswordProperties(), meterRegistry);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> encoder.matches("secret", "not-a-hash"));
+        assertEquals("bad hash", exception.getMessage());
+    }
+
+    private BoundedPasswordEncoder newEncoder(PasswordProperties properties) {
+        return new BoundedPasswordEncoder(new BlockingEncoder(), properties, meterRegistry);
+    }
+
+    /**
+     * 在release打开前阻塞的编码器，可被中断
+     */
+    private final class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            block();
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            block();
+            return encodedPassword.equals("encoded:" + rawPassword);
+        }
+
+        private void block() {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class FailingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new IllegalArgumentException("bad hash");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            throw new IllegalArgumentException("bad hash");
+        }
+    }
+}
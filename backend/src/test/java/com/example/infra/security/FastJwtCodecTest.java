@@ -0,0 +1,100 @@
+package com.example.infra.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+class FastJwtCodecTest {
+
+    private static final byte[] SECRET = "mySecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private FastJwtCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        signingKey = Keys.hmacShaKeyFor(SECRET);
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        codec = new FastJwtCodec(SECRET, jwtParser);
+    }
+
+    @Test
+    void tryDecode_MatchesJjwt() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtTokenProvider.CLAIM_USER_ID, 42L);
+        claims.put(JwtTokenProvider.CLAIM_STATUS, "ACTIVE");
+        claims.put(JwtTokenProvider.CLAIM_ROLES, List.of("ROLE_USER"));
+        claims.put("extra", Map.of("nested", List.of(1, 2)));
+        String token = sign(claims, new Date(System.currentTimeMillis() + 60_000));
+
+        ParsedToken fast = codec.tryDecode(token);
+        ParsedToken expected = ParsedToken.of(jwtParser.parseClaimsJws(token).getBody());
+
+        assertNotNull(fast);
+        assertEquals(expected.getSubject(), fast.getSubject());
+        assertEquals(expected.getId(), fast.getId());
+        assertEquals(expected.getIssuedAt(), fast.getIssuedAt());
+        assertEquals(expected.getExpiration(), fast.getExpiration());
+        assertEquals(42L, fast.getUserId());
+        assertEquals("ACTIVE", fast.getStatus());
+        assertEquals(List.of("ROLE_USER"), fast.getRoles());
+    }
+
+    @Test
+    void tryDecode_TamperedSignatureRejected() {
+        String token = sign(new HashMap<>(), new Date(System.currentTimeMillis() + 60_000));
+        char last = token.charAt(token.length() - 2);
+        String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A')
+                + token.charAt(token.length() - 1);
+
+        assertThrows(SignatureException.class, () -> codec.decode(tampered));
+    }
+
+    @Test
+    void tryDecode_ExpiredTokenRejected() {
+        String token = sign(new HashMap<>(), new Date(System.currentTimeMillis() - 1_000));
+
+        assertThrows(ExpiredJwtException.class, () -> codec.decode(token));
+    }
+
+    @Test
+    void decode_UnknownHeaderFallsBackToJjwt() {
+        String token = Jwts.builder()
+                .setHeaderParam("typ", "JWT")
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(signingKey, SignatureAlgorithm.HS512)
+                .compact();
+
+        assertNull(codec.tryDecode(token));
+        assertEquals("testuser", codec.decode(token).getSubject());
+    }
+
+    private String sign(Map<String, Object> claims, Date expiration) {
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject("testuser")
+                .setId("token-id")
+                .setIssuedAt(new Date())
+                .setExpiration(expiration)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
+                .compact();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.infra.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 令牌解析缓存测试
+ * 覆盖缓存命中、条目存活时间等于令牌剩余有效期、无效和被篡改的令牌不进入缓存，以及缓存容量上限
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET =
+            "mySecretKey1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int EXPIRATION_SECONDS = 900;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = newProvider(100);
+    }
+
+    @Test
+    void parseToken_SecondParseIsServedFromCache() {
+        String token = tokenProvider.generateToken("alice");
+
+        ParsedToken first = tokenProvider.parseToken(token);
+        ParsedToken second = tokenProvider.parseToken(token);
+
+        assertSame(first, second);
+        assertEquals("alice", second.getSubject());
+        assertEquals(1, parseCount("verified"));
+        assertEquals(1, parseCount("cached"));
+    }
+
+    @Test
+    void cachedEntry_ExpiresWithToken() {
+        String token = tokenProvider.generateToken("alice");
+        ParsedToken parsed = tokenProvider.parseToken(token);
+
+        long expiresAfter = verifiedTokens().policy().expireVariably().orElseThrow()
+                .getExpiresAfter(token, TimeUnit.MILLISECONDS).orElseThrow();
+        long remaining = parsed.getExpiration().getTime() - System.currentTimeMillis();
+
+        // 存活时间由令牌的exp决定，不是固定值
+        assertTrue(Math.abs(expiresAfter - remaining) < 2_000, "expiresAfter=" + expiresAfter);
+        assertTrue(expiresAfter <= TimeUnit.SECONDS.toMillis(EXPIRATION_SECONDS));
+    }
+
+    @Test
+    void tamperedToken_IsRejectedAndNotCached() {
+        String token = tokenProvider.generateToken("alice");
+        int signatureStart = token.lastIndexOf('.') + 1;
+        int index = signatureStart + 10;
+        char replacement = token.charAt(index) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, index) + replacement + token.substring(index + 1);
+
+        assertThrows(JwtException.class, () -> tokenProvider.parseToken(tampered));
+        assertThrows(JwtException.class, () -> tokenProvider.parseToken(tampered));
+
+        assertNull(verifiedTokens().getIfPresent(tampered));
+        assertEquals(2, parseCount("invalid"));
+        assertEquals(0, parseCount("cached"));
+    }
+
+    @Test
+    void tokenSignedWithOtherKey_IsRejectedAndNotCached() {
+        String forged = Jwts.builder()
+                .setSubject("alice")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor((SECRET + "other").getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThrows(JwtException.class, () -> tokenProvider.parseToken(forged));
+
+        assertNull(verifiedTokens().getIfPresent(forged));
+    }
+
+    @Test
+    void expiredToken_IsRejectedAndNotCached() {
+        String expired = Jwts.builder()
+                .setSubject("alice")
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThrows(ExpiredJwtException.class, () -> tokenProvider.parseToken(expired));
+
+        assertNull(verifiedTokens().getIfPresent(expired));
+        assertEquals(1, parseCount("invalid"));
+    }
+
+    @Test
+    void cache_IsBoundedByConfiguredSize() {
+        tokenProvider = newProvider(3);
+        for (int i = 0; i < 20; i++) {
+            tokenProvider.parseToken(tokenProvider.generateToken("user" + i));
+        }
+
+        Cache<String, ParsedToken> cache = verifiedTokens();
+        cache.cleanUp();
+        assertTrue(cache.estimatedSize() <= 3, "size=" + cache.estimatedSize());
+    }
+
+    private JwtTokenProvider newProvider(int cacheSize) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        JwtTokenProvider provider = new JwtTokenProvider(beanFactory.getBeanProvider(MeterRegistry.class));
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInSec", EXPIRATION_SECONDS);
+        ReflectionTestUtils.setField(provider, "tokenCacheSize", cacheSize);
+        provider.init();
+        return provider;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, ParsedToken> verifiedTokens() {
+        return (Cache<String, ParsedToken>) ReflectionTestUtils.getField(tokenProvider, "verifiedTokens");
+    }
+
+    private long parseCount(String result) {
+        return meterRegistry.get("jwt.parse").tag("result", result).timer().count();
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.infra.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.example.infra.config.LoginThrottleProperties;
+import com.example.infra.exception.BusinessException;
+import com.example.infra.redis.RedisGuard;
+
+/**
+ * 登录限流测试
+ * Redis用内存Map模拟（封禁键记录写入时的过期毫秒数），覆盖退避时长、按用户名和按IP封禁、跨节点同步，
+ * 以及Redis不可用时只依赖本地计数
+ */
+class LoginAttemptServiceTest {
+
+    private static final String IP = "10.0.0.1";
+
+    private final Map<String, Long> counters = new ConcurrentHashMap<>();
+    private final Map<String, Long> blocks = new ConcurrentHashMap<>();
+    private final List<Long> aliceBackoffs = new ArrayList<>();
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> operations;
+    private LoginThrottleProperties properties;
+    private RedisGuard redisGuard;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        operations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(operations);
+        when(operations.increment(anyString())).thenAnswer(invocation ->
+                counters.merge(invocation.getArgument(0), 1L, Long::sum));
+        doAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            long ttl = invocation.getArgument(2);
+            blocks.put(key, ttl);
+            if (key.equals("login:block:user:alice")) {
+                aliceBackoffs.add(ttl);
+            }
+            return null;
+        }).when(operations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        when(redisTemplate.getExpire(anyString(), eq(TimeUnit.MILLISECONDS))).thenAnswer(invocation ->
+                blocks.getOrDefault(invocation.<String>getArgument(0), -2L));
+        when(redisTemplate.delete(anyString()))
+                .thenAnswer(invocation -> counters.remove(invocation.<String>getArgument(0)) != null);
+
+        properties = new LoginThrottleProperties();
+        properties.setMaxUsernameFailures(3);
+        properties.setMaxIpFailures(5);
+        properties.setBaseBackoff(Duration.ofSeconds(1));
+        properties.setMaxBackoff(Duration.ofSeconds(8));
+        redisGuard = new RedisGuard(Duration.ofSeconds(30));
+    }
+
+    private LoginAttemptService newService() {
+        return new LoginAttemptService(properties, redisTemplate, redisGuard);
+    }
+
+    @Test
+    void backoff_DoublesAfterThresholdUpToMaximum() {
+        LoginAttemptService service = newService();
+
+        for (int i = 0; i < 7; i++) {
+            service.recordFailure("alice", "10.0.0." + i);
+        }
+
+        // 第3次失败达到阈值：1s，此后每次翻倍，8s封顶
+        assertEquals(List.of(1000L, 2000L, 4000L, 8000L, 8000L), aliceBackoffs);
+    }
+
+    @Test
+    void backoff_LargeExcessDoesNotOverflow() {
+        properties.setMaxBackoff(Duration.ofDays(1));
+        LoginAttemptService service = newService();
+
+        for (int i = 0; i < 80; i++) {
+            service.recordFailure("alice", null);
+        }
+
+        assertEquals(Duration.ofDays(1).toMillis(), aliceBackoffs.get(aliceBackoffs.size() - 1));
+        assertTrue(aliceBackoffs.stream().allMatch(ttl -> ttl > 0));
+    }
+
+    @Test
+    void username_IsBlockedAfterThresholdCaseInsensitively() {
+        LoginAttemptService service = newService();
+
+        service.recordFailure("alice", IP);
+        service.recordFailure("Alice", IP);
+        service.checkAllowed("alice", IP);
+        service.recordFailure("ALICE", IP);
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> service.checkAllowed("alice", "10.9.9.9"));
+        assertEquals(429, exception.getCode());
+        assertTrue(exception.getMessage().contains("1秒"), exception.getMessage());
+        // 其他用户名不受影响
+        service.checkAllowed("bob", "10.9.9.9");
+    }
+
+    @Test
+    void ip_IsBlockedAcrossUsernames() {
+        LoginAttemptService service = newService();
+
+        for (int i = 0; i < 5; i++) {
+            service.recordFailure("user" + i, IP);
+        }
+
+        assertEquals(429, assertThrows(BusinessException.class,
+                () -> service.checkAllowed("fresh", IP)).getCode());
+        service.checkAllowed("fresh", "10.9.9.9");
+    }
+
+    @Test
+    void success_ClearsUsernameFailuresButKeepsIpCount() {
+        LoginAttemptService service = newService();
+        for (int i = 0; i < 2; i++) {
+            service.recordFailure("alice", IP);
+        }
+
+        service.recordSuccess("alice");
+        service.recordFailure("alice", IP);
+        service.checkAllowed("alice", "10.9.9.9");
+
+        // IP已有3次失败，再失败2次达到IP阈值
+        service.recordFailure("bob", IP);
+        service.recordFailure("carol", IP);
+        assertThrows(BusinessException.class, () -> service.checkAllowed("dave", IP));
+    }
+
+    @Test
+    void blockOnOneNode_IsSeenByAnother() {
+        LoginAttemptService node1 = newService();
+        for (int i = 0; i < 3; i++) {
+            node1.recordFailure("alice", IP);
+        }
+
+        LoginAttemptService node2 = newService();
+        assertThrows(BusinessException.class, () -> node2.checkAllowed("alice", "10.9.9.9"));
+    }
+
+    @Test
+    void failuresOnSeveralNodes_AreCountedTogether() {
+        LoginAttemptService node1 = newService();
+        LoginAttemptService node2 = newService();
+
+        node1.recordFailure("alice", null);
+        node2.recordFailure("alice", null);
+        node1.recordFailure("alice", null);
+
+        // 全局第3次失败发生在node1，封禁写入Redis后node2同样拒绝
+        assertThrows(BusinessException.class, () -> node2.checkAllowed("alice", null));
+        assertEquals(List.of(1000L), aliceBackoffs);
+    }
+
+    @Test
+    void redisDown_FallsBackToLocalCounters() {
+        when(operations.increment(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        LoginAttemptService service = newService();
+
+        for (int i = 0; i < 3; i++) {
+            service.recordFailure("alice", IP);
+        }
+
+        assertFalse(redisGuard.isAvailable());
+        assertThrows(BusinessException.class, () -> service.checkAllowed("alice", IP));
+        assertTrue(blocks.isEmpty());
+        verify(operations, times(1)).increment(anyString());
+    }
+
+    @Test
+    void disabled_NeverBlocks() {
+        properties.setEnabled(false);
+        LoginAttemptService service = newService();
+
+        for (int i = 0; i < 10; i++) {
+            service.recordFailure("alice", IP);
+        }
+
+        service.checkAllowed("alice", IP);
+        verifyNoInteractions(redisTemplate);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.infra.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * BCrypt强度校准测试
+ * 测量结果随机器变化，实际测量只断言与耗时无关的部分：结果始终落在上下限之内，目标极小或极大时取到边界；
+ * 推算部分用给定的测量值验证取中位数和上下限
+ */
+class PasswordHashCalibratorTest {
+
+    @Test
+    void tinyTarget_UsesMinimumStrength() {
+        assertEquals(4, PasswordHashCalibrator.calibrate(Duration.ofNanos(1), 4, 8, 3));
+    }
+
+    @Test
+    void hugeTarget_IsCappedAtMaximumStrength() {
+        // 只测量最小强度，目标再大也不会以更高强度实际哈希
+        assertEquals(8, PasswordHashCalibrator.calibrate(Duration.ofHours(1), 4, 8, 3));
+    }
+
+    @Test
+    void result_StaysWithinBounds() {
+        int strength = PasswordHashCalibrator.calibrate(Duration.ofMillis(5), 4, 6, 3);
+
+        assertTrue(strength >= 4 && strength <= 6, "强度越界: " + strength);
+        assertEquals(5, PasswordHashCalibrator.calibrate(Duration.ofHours(1), 5, 5, 1));
+    }
+
+    @Test
+    void strengthFor_UsesMedianSoOneSlowSampleDoesNotSkewResult() {
+        long[] samples = {ms(10), ms(11), ms(500), ms(9), ms(10)};
+
+        // 中位数10ms，目标40ms需翻倍两次
+        assertEquals(12, PasswordHashCalibrator.strengthFor(Duration.ofMillis(40), samples, 10, 14));
+    }
+
+    @Test
+    void strengthFor_ClampsToFloorAndCeiling() {
+        long[] samples = {ms(10), ms(10), ms(10)};
+
+        assertEquals(10, PasswordHashCalibrator.strengthFor(Duration.ofMillis(1), samples, 10, 14));
+        assertEquals(14, PasswordHashCalibrator.strengthFor(Duration.ofSeconds(10), samples, 10, 14));
+    }
+
+    private static long ms(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.infra.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
+import com.example.infra.exception.BusinessException;
+import com.example.infra.redis.RedisGuard;
+
+/**
+ * 刷新令牌测试
+ * Redis用内存Map模拟，覆盖只存摘要、一次性使用、作废、用户改密码或被锁定后整体作废，
+ * 以及Redis不可用时的行为
+ */
+class RefreshTokenServiceTest {
+
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Double>> userIndex = new ConcurrentHashMap<>();
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> operations;
+    private ZSetOperations<String, String> zSetOperations;
+    private RedisGuard redisGuard;
+    private UserRevocationRegistry userRevocationRegistry;
+    private RefreshTokenService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        operations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(operations);
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(operations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        when(operations.getAndDelete(anyString()))
+                .thenAnswer(invocation -> redis.remove(invocation.<String>getArgument(0)));
+        when(redisTemplate.delete(anyString()))
+                .thenAnswer(invocation -> redis.remove(invocation.<String>getArgument(0)) != null);
+        when(redisTemplate.delete(anyCollection())).thenAnswer(invocation -> {
+            long deleted = 0;
+            for (String key : invocation.<Collection<String>>getArgument(0)) {
+                if (redis.remove(key) != null | userIndex.remove(key) != null) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        });
+
+        zSetOperations = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.add(anyString(), anyString(), anyDouble())).thenAnswer(invocation ->
+                userIndex.computeIfAbsent(invocation.getArgument(0), key -> new ConcurrentHashMap<>())
+                        .put(invocation.getArgument(1), invocation.getArgument(2)) == null);
+        when(zSetOperations.removeRangeByScore(anyString(), anyDouble(), anyDouble())).thenAnswer(invocation -> {
+            Map<String, Double> members = userIndex.getOrDefault(invocation.<String>getArgument(0), Map.of());
+            double max = invocation.getArgument(2);
+            int before = members.size();
+            members.values().removeIf(score -> score <= max);
+            return (long) (before - members.size());
+        });
+        when(zSetOperations.range(anyString(), eq(0L), eq(-1L))).thenAnswer(invocation ->
+                new LinkedHashSet<>(userIndex.getOrDefault(invocation.<String>getArgument(0), Map.of()).keySet()));
+        when(zSetOperations.remove(anyString(), any())).thenAnswer(invocation -> {
+            Map<String, Double> members = userIndex.get(invocation.<String>getArgument(0));
+            return members != null && members.remove(invocation.<String>getArgument(1)) != null ? 1L : 0L;
+        });
+
+        redisGuard = new RedisGuard(Duration.ofSeconds(30));
+        userRevocationRegistry = new UserRevocationRegistry();
+        ReflectionTestUtils.setField(userRevocationRegistry, "jwtExpirationInSec", 900);
+        userRevocationRegistry.init();
+        service = new RefreshTokenService(redisTemplate, redisGuard, userRevocationRegistry);
+        ReflectionTestUtils.setField(service, "refreshExpirationInSec", 3600L);
+    }
+
+    @Test
+    void issue_StoresOnlyDigestWithExpiry() {
+        long before = System.currentTimeMillis();
+        String token = service.issue("alice");
+
+        assertNotNull(token);
+        assertEquals(1, redis.size());
+        String key = redis.keySet().iterator().next();
+        assertTrue(key.startsWith("auth:refresh:"));
+        assertFalse(key.contains(token));
+        String digest = key.substring("auth:refresh:".length());
+        assertEquals(64, digest.length());
+        String value = redis.get(key);
+        assertTrue(value.endsWith(":alice"), value);
+        assertTrue(Long.parseLong(value.substring(0, value.indexOf(':'))) >= before);
+        verify(operations).set(key, value, 3600L, TimeUnit.SECONDS);
+        // 用户索引只保存摘要
+        assertEquals(Set.of(digest), userIndex.get("auth:refresh:user:alice").keySet());
+        verify(redisTemplate).expire("auth:refresh:user:alice", 3600L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void consume_IsSingleUse() {
+        String token = service.issue("alice");
+
+        assertEquals("alice", service.consume(token));
+        assertNull(service.consume(token));
+        assertTrue(redis.isEmpty());
+        assertTrue(userIndex.get("auth:refresh:user:alice").isEmpty());
+    }
+
+    @Test
+    void issuedTokens_AreIndependent() {
+        String first = service.issue("alice");
+        String second = service.issue("alice");
+
+        assertNotEquals(first, second);
+        assertEquals("alice", service.consume(first));
+        assertEquals("alice", service.consume(second));
+    }
+
+    @Test
+    void unknownOrBlankToken_IsRejected() {
+        service.issue("alice");
+
+        assertNull(service.consume("forged"));
+        assertNull(service.consume(""));
+        assertNull(service.consume(null));
+        assertEquals(1, redis.size());
+    }
+
+    @Test
+    void revoke_InvalidatesToken() {
+        String token = service.issue("alice");
+
+        service.revoke(token);
+
+        assertNull(service.consume(token));
+    }
+
+    @Test
+    void passwordChanged_RejectsEarlierRefreshTokens() {
+        String first = service.issue("alice");
+        String second = service.issue("alice");
+        String other = service.issue("bob");
+
+        service.onUserChanged(event("alice", UserChangedEvent.ChangeType.PASSWORD_CHANGED, User.UserStatus.ACTIVE));
+
+        assertNull(service.consume(first));
+        assertNull(service.consume(second));
+        assertFalse(userIndex.containsKey("auth:refresh:user:alice"));
+        assertEquals("bob", service.consume(other));
+    }
+
+    @Test
+    void lockedUser_RefreshTokensAreRevoked() {
+        String token = service.issue("alice");
+
+        service.onUserChanged(event("alice", UserChangedEvent.ChangeType.STATUS_CHANGED, User.UserStatus.LOCKED));
+
+        assertNull(service.consume(token));
+    }
+
+    @Test
+    void profileUpdate_KeepsRefreshTokens() {
+        String token = service.issue("alice");
+
+        service.onUserChanged(event("alice", UserChangedEvent.ChangeType.UPDATED, User.UserStatus.ACTIVE));
+
+        assertEquals("alice", service.consume(token));
+    }
+
+    @Test
+    void tokenIssuedBeforeRevocation_IsRejectedEvenIfIndexMissedIt() {
+        // 模拟签发与作废并发：索引删除时还没有这个摘要，只剩撤销登记兜底
+        String token = service.issue("alice");
+        userIndex.clear();
+        UserChangedEvent event = event("alice", UserChangedEvent.ChangeType.PASSWORD_CHANGED, User.UserStatus.ACTIVE);
+        userRevocationRegistry.onUserChanged(event);
+        service.onUserChanged(event);
+
+        assertNull(service.consume(token));
+    }
+
+    @Test
+    void tokenIssuedAfterRevocation_IsAccepted() throws InterruptedException {
+        userRevocationRegistry.revoke("alice", System.currentTimeMillis());
+        Thread.sleep(2);
+
+        String token = service.issue("alice");
+
+        assertEquals("alice", service.consume(token));
+    }
+
+    @Test
+    void legacyValueWithoutIssueTime_IsStillAccepted() {
+        String token = service.issue("alice");
+        redis.replaceAll((key, value) -> "alice");
+
+        assertEquals("alice", service.consume(token));
+    }
+
+    @Test
+    void redisDown_IssuesNothingAndRejectsRefreshWith503() {
+        String token = service.issue("alice");
+        when(operations.getAndDelete(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertEquals(503, assertThrows(BusinessException.class, () -> service.consume(token)).getCode());
+        assertFalse(redisGuard.isAvailable());
+        // 熔断期间不再访问Redis
+        assertNull(service.issue("alice"));
+        assertEquals(503, assertThrows(BusinessException.class, () -> service.consume(token)).getCode());
+        verify(operations, times(1)).getAndDelete(anyString());
+    }
+
+    private static UserChangedEvent event(String username, UserChangedEvent.ChangeType type, User.UserStatus status) {
+        return new UserChangedEvent(1L, username, username + "@example.com", type, User.UserStatus.ACTIVE, status,
+                1L, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.infra.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.core.entity.User;
+import com.example.infra.redis.RedisGuard;
+import com.example.infra.redis.RedisPubSub;
+
+/**
+ * 令牌撤销测试
+ * Redis用内存Map模拟，发布订阅直接回调已订阅的处理函数；覆盖撤销与过期、跨节点广播、
+ * 错过广播时由Redis确认、重建过滤器、Redis不可用时的本地撤销，以及撤销后认证过滤器拒绝该令牌
+ */
+class TokenRevocationServiceTest {
+
+    private final Map<String, Long> redis = new ConcurrentHashMap<>();
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> operations;
+    private RedisGuard redisGuard;
+    private RedisPubSub redisPubSub;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        operations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(operations);
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.<Long>getArgument(2)))
+                .when(operations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        when(redisTemplate.hasKey(anyString()))
+                .thenAnswer(invocation -> redis.containsKey(invocation.<String>getArgument(0)));
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> cursor(redis.keySet().iterator()));
+        redisGuard = new RedisGuard(Duration.ofSeconds(30));
+        redisPubSub = mock(RedisPubSub.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private TokenRevocationService newService() {
+        TokenRevocationService service = new TokenRevocationService(redisTemplate, redisGuard, redisPubSub);
+        ReflectionTestUtils.setField(service, "jwtExpirationInSec", 900);
+        ReflectionTestUtils.setField(service, "expectedRevocations", 1000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.001);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void revoke_StoresJtiUntilTokenExpiresAndBroadcasts() {
+        TokenRevocationService service = newService();
+
+        service.revoke("jti-1", inSeconds(60));
+
+        assertTrue(service.isRevoked("jti-1"));
+        assertFalse(service.isRevoked("jti-2"));
+        long ttl = redis.get("auth:revoked:jti-1");
+        assertTrue(ttl > 55_000 && ttl <= 60_000, "TTL: " + ttl);
+        verify(redisPubSub).publish("auth:revocation", "jti-1");
+    }
+
+    @Test
+    void expiredOrIncompleteToken_IsIgnored() {
+        TokenRevocationService service = newService();
+
+        service.revoke("jti-1", inSeconds(-1));
+        service.revoke(null, inSeconds(60));
+        service.revoke("jti-2", null);
+
+        assertFalse(service.isRevoked("jti-1"));
+        assertFalse(service.isRevoked(null));
+        assertTrue(redis.isEmpty());
+        verify(redisPubSub, never()).publish(anyString(), anyString());
+    }
+
+    @Test
+    void unrevokedToken_IsDecidedByFilterWithoutRedis() {
+        TokenRevocationService service = newService();
+        service.revoke("jti-1", inSeconds(60));
+        clearInvocations(redisTemplate);
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(service.isRevoked("active-" + i));
+        }
+
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void broadcast_RevokesOnOtherNode() {
+        TokenRevocationService node2 = newService();
+
+        subscribedHandler().accept("jti-1");
+        redis.clear();
+
+        // 本地已知的撤销不需要再查Redis
+        assertTrue(node2.isRevoked("jti-1"));
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void missedBroadcast_IsPickedUpByRebuild() {
+        TokenRevocationService node1 = newService();
+        TokenRevocationService node2 = newService();
+
+        // node2未收到广播，重建后从Redis得到撤销记录
+        node1.revoke("jti-1", inSeconds(60));
+        assertFalse(node2.isRevoked("jti-1"));
+        node2.rebuild();
+
+        assertTrue(node2.isRevoked("jti-1"));
+        verify(redisTemplate).hasKey("auth:revoked:jti-1");
+    }
+
+    @Test
+    void rebuild_DropsExpiredRevocations() {
+        TokenRevocationService node1 = newService();
+        TokenRevocationService node2 = newService();
+        node1.revoke("jti-1", inSeconds(60));
+        node2.rebuild();
+
+        // Redis中的记录过期后重建，过滤器不再命中，也不再访问Redis
+        redis.clear();
+        node2.rebuild();
+        clearInvocations(redisTemplate);
+
+        assertFalse(node2.isRevoked("jti-1"));
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void redisDown_StillRevokesLocally() {
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(operations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        TokenRevocationService service = newService();
+
+        service.revoke("jti-1", inSeconds(60));
+
+        assertFalse(redisGuard.isAvailable());
+        assertTrue(service.isRevoked("jti-1"));
+        verify(redisPubSub).publish("auth:revocation", "jti-1");
+    }
+
+    @Test
+    void revokedJti_IsRejectedByAuthenticationFilter() throws Exception {
+        TokenRevocationService service = newService();
+        ParsedToken token = new ParsedToken("alice", "jti-1", new Date(), inSeconds(60), 1L, "ACTIVE",
+                List.of("ROLE_USER"));
+        JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+        when(tokenProvider.parseToken("access-token")).thenReturn(token);
+        when(tokenProvider.validateToken(eq(token), any())).thenReturn(true);
+        CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(new UserPrincipal(1L, "alice", "hash",
+                User.UserStatus.ACTIVE, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService,
+                mock(UserRevocationRegistry.class), service);
+        ReflectionTestUtils.setField(filter, "tokenHeader", "Authorization");
+
+        assertEquals("alice", authenticate(filter));
+
+        service.revoke(token.getId(), token.getExpiration());
+
+        assertNull(authenticate(filter));
+    }
+
+    private String authenticate(JwtAuthenticationFilter filter) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.addHeader("Authorization", "Bearer access-token");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<String> subscribedHandler() {
+        ArgumentCaptor<Consumer<String>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(redisPubSub).subscribe(eq("auth:revocation"), captor.capture());
+        return captor.getValue();
+    }
+
+    private static Date inSeconds(long seconds) {
+        return new Date(System.currentTimeMillis() + seconds * 1000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(Iterator<String> keys) {
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> keys.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> keys.next());
+        return cursor;
+    }
+}
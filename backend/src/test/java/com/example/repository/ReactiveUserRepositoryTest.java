@@ -0,0 +1,107 @@
+package com.example.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.User;
+import com.example.core.repository.ReactiveUserRepository;
+import com.example.core.repository.UserRepository;
+import com.example.support.H2DataJpaTest;
+import com.example.support.TestUsers;
+
+import io.r2dbc.spi.ConnectionFactories;
+
+/**
+ * 响应式用户查询测试：与JPA投影查询结果一致
+ * JPA建表并提交数据，R2DBC通过同名的H2内存库读取，验证列名和筛选条件与实体映射一致
+ */
+@H2DataJpaTest(properties = {
+        // R2DBC按库名连接同一个内存库，这里固定库名
+        "spring.datasource.url=jdbc:h2:mem:reactive_user;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReactiveUserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ReactiveUserRepository reactiveUserRepository;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient databaseClient = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem://sa@/reactive_user?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"));
+        // Hibernate在H2上把枚举列建为ENUM类型，改为与schema.sql一致的VARCHAR
+        databaseClient.sql("ALTER TABLE users ALTER COLUMN status VARCHAR(20) NOT NULL").then().block();
+        reactiveUserRepository = new ReactiveUserRepository(databaseClient);
+
+        alice = TestUsers.save(userRepository, "alice", "alice@example.com", "alice的昵称", User.UserStatus.ACTIVE);
+        bob = TestUsers.save(userRepository, "bob", "bob@example.com", "bob的昵称", User.UserStatus.LOCKED);
+        TestUsers.save(userRepository, "carol", null, "carol的昵称", User.UserStatus.ACTIVE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findResponseById_MatchesJpaProjection() {
+        UserResponse expected = userRepository.findResponseById(bob.getId()).orElseThrow();
+        UserResponse actual = reactiveUserRepository.findResponseById(bob.getId()).block();
+
+        assertNotNull(actual);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getUsername(), actual.getUsername());
+        assertEquals(expected.getNickname(), actual.getNickname());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertNull(reactiveUserRepository.findResponseById(-1L).block());
+    }
+
+    @Test
+    void findResponseByUsernameOrEmail_UsesEmailWhenContainsAt() {
+        assertEquals(alice.getId(), reactiveUserRepository.findResponseByUsernameOrEmail("alice").block().getId());
+        assertEquals(alice.getId(),
+                reactiveUserRepository.findResponseByUsernameOrEmail("alice@example.com").block().getId());
+    }
+
+    @Test
+    void findResponses_PagesLikeJpaQueries() {
+        assertEquals(ids(userRepository.findResponses(PageRequest.of(1, 2))),
+                ids(reactiveUserRepository.findResponses(null, 1, 2).collectList().block()));
+        assertEquals(ids(userRepository.findResponsesByStatus(User.UserStatus.ACTIVE, PageRequest.of(0, 10))),
+                ids(reactiveUserRepository.findResponses(User.UserStatus.ACTIVE, 0, 10).collectList().block()));
+        assertEquals(ids(userRepository.findResponsesAfter(alice.getId(), Limit.of(10))),
+                ids(reactiveUserRepository.findResponsesAfter(null, alice.getId(), 10).collectList().block()));
+        assertEquals(ids(userRepository.findResponsesByStatusAfter(User.UserStatus.ACTIVE, alice.getId(),
+                        Limit.of(10))),
+                ids(reactiveUserRepository.findResponsesAfter(User.UserStatus.ACTIVE, alice.getId(), 10)
+                        .collectList().block()));
+    }
+
+    @Test
+    void count_FiltersByStatus() {
+        assertEquals(3L, reactiveUserRepository.count(null).block());
+        assertEquals(2L, reactiveUserRepository.count(User.UserStatus.ACTIVE).block());
+    }
+
+    private static List<Long> ids(List<UserResponse> users) {
+        return users.stream().map(UserResponse::getId).toList();
+    }
+}
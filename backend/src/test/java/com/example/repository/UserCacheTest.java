@@ -0,0 +1,111 @@
+package com.example.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.core.entity.User;
+import com.example.core.repository.UserRepository;
+import com.example.support.H2DataJpaTest;
+import com.example.support.TestUsers;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 用户二级缓存测试：按ID、用户名（自然键）和邮箱的重复查询不再执行SQL
+ * 测试方法不开启事务，每次仓库调用使用新的会话，只有二级缓存能避免查询
+ */
+@H2DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+
+        alice = TestUsers.save(userRepository, "alice", "alice@example.com", null, User.UserStatus.ACTIVE);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findById_SecondLookupHitsCache() {
+        // 自增主键的插入不写缓存，首次读取查询数据库
+        assertEquals("alice", userRepository.findById(alice.getId()).orElseThrow().getUsername());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertEquals("alice", userRepository.findById(alice.getId()).orElseThrow().getUsername());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, region(User.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void findByUsername_ResolvesNaturalIdFromCache() {
+        assertEquals(alice.getId(), userRepository.findByUsername("alice").orElseThrow().getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        long naturalIdHits = region(User.NATURAL_ID_CACHE_REGION).getHitCount();
+
+        assertEquals(alice.getId(), userRepository.findByUsername("alice").orElseThrow().getId());
+        assertEquals(alice.getId(), userRepository.findByUsername("alice").orElseThrow().getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(naturalIdHits + 2, region(User.NATURAL_ID_CACHE_REGION).getHitCount());
+        assertEquals(2, region(User.CACHE_REGION).getHitCount());
+
+        // 不存在的用户名不缓存
+        assertTrue(userRepository.findByUsername("nobody").isEmpty());
+        assertTrue(userRepository.findByUsername("nobody").isEmpty());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByEmail_SecondLookupHitsQueryCache() {
+        assertEquals(alice.getId(), userRepository.findByEmail("alice@example.com").orElseThrow().getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertEquals(alice.getId(), userRepository.findByEmail("alice@example.com").orElseThrow().getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryRegionStatistics(User.QUERY_CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void update_RefreshesCachedEntityAndInvalidatesQueries() {
+        userRepository.findByEmail("alice@example.com").orElseThrow();
+        User user = userRepository.findByUsername("alice").orElseThrow();
+        user.setNickname("Alice");
+        userRepository.save(user);
+        statistics.clear();
+
+        assertEquals("Alice", userRepository.findByUsername("alice").orElseThrow().getNickname());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        // 表有写入后查询缓存失效，重新执行查询
+        assertEquals("Alice", userRepository.findByEmail("alice@example.com").orElseThrow().getNickname());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return statistics.getDomainDataRegionStatistics(name);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.api.dto.response.UserResponse;
+import com.example.core.entity.Role;
+import com.example.core.entity.User;
+import com.example.core.repository.UserRepository;
+import com.example.core.repository.VersionedUserResponse;
+import com.example.support.H2DataJpaTest;
+import com.example.support.TestUsers;
+
+/**
+ * 用户仓库查询测试：列投影和关键词搜索的筛选语义
+ * H2（MySQL兼容模式）不支持全文索引，搜索使用like模式验证匹配字段、大小写、通配符转义、状态筛选和分页，
+ * 并验证fulltext模式在缺少全文索引时退化为LIKE
+ */
+@H2DataJpaTest(properties = "app.search.user.mode=like")
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private User alice;
+    private User bob;
+    private User zhang;
+
+    @BeforeEach
+    void setUp() {
+        alice = TestUsers.save(userRepository, "alice", "alice@example.com", "Alice Smith", User.UserStatus.ACTIVE);
+        bob = TestUsers.save(userRepository, "bob", "bob@corp.test", "小明", User.UserStatus.LOCKED);
+        zhang = TestUsers.save(userRepository, "zhang_san", "zhang@example.com", "张三", User.UserStatus.ACTIVE);
+    }
+
+    @Test
+    void findResponses_ProjectsColumnsWithoutManagingEntities() {
+        entityManager.clear();
+
+        UserResponse response = userRepository.findResponseById(bob.getId()).orElseThrow();
+
+        assertEquals("bob", response.getUsername());
+        assertEquals("小明", response.getNickname());
+        assertEquals("bob@corp.test", response.getEmail());
+        assertEquals("LOCKED", response.getStatus());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void findResponses_PagesByOffsetAndCursor() {
+        assertEquals(List.of(bob.getId()), responseIds(userRepository.findResponses(PageRequest.of(1, 1))));
+        assertEquals(List.of(bob.getId(), zhang.getId()),
+                responseIds(userRepository.findResponsesAfter(alice.getId(), Limit.of(10))));
+        assertEquals(List.of(zhang.getId()), responseIds(
+                userRepository.findResponsesByStatusAfter(User.UserStatus.ACTIVE, alice.getId(), Limit.of(10))));
+        assertEquals(List.of(alice.getId(), zhang.getId()), responseIds(
+                userRepository.findResponsesByStatus(User.UserStatus.ACTIVE, PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void findByUsernameOrEmail_LoadsRoles() {
+        Role admin = entityManager.persist(new Role(Role.ADMIN, "管理员角色"));
+        alice.getRoles().add(admin);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(Role.ADMIN), roleNames(userRepository.findByUsernameOrEmail("alice").orElseThrow()));
+        entityManager.clear();
+        assertEquals(List.of(Role.ADMIN),
+                roleNames(userRepository.findByUsernameOrEmail("alice@example.com").orElseThrow()));
+        assertTrue(userRepository.findByUsernameOrEmail("bob").orElseThrow().getRoles().isEmpty());
+    }
+
+    @Test
+    void findVersionedResponseById_ChangesOnUpdate() {
+        long before = userRepository.findVersionedResponseById(bob.getId()).orElseThrow().getVersion();
+
+        bob.setStatus(User.UserStatus.ACTIVE);
+        userRepository.saveAndFlush(bob);
+
+        VersionedUserResponse after = userRepository.findVersionedResponseById(bob.getId()).orElseThrow();
+        assertEquals(before + 1, after.getVersion());
+        assertEquals("ACTIVE", after.getUser().getStatus());
+        assertTrue(after.getLastModified() > 0);
+    }
+
+    @Test
+    void search_MatchesUsernameEmailAndNickname() {
+        assertEquals(List.of(alice.getId()), responseIds(userRepository.search("alic", null, 0, 10)));
+        assertEquals(List.of(bob.getId()), responseIds(userRepository.search("corp.test", null, 0, 10)));
+        assertEquals(List.of(zhang.getId()), responseIds(userRepository.search("张三", null, 0, 10)));
+    }
+
+    @Test
+    void search_IsCaseInsensitive() {
+        assertEquals(List.of(alice.getId()), responseIds(userRepository.search("SMITH", null, 0, 10)));
+    }
+
+    @Test
+    void search_EscapesWildcards() {
+        // 下划线按字面匹配，不作为单字符通配符
+        assertEquals(List.of(zhang.getId()), responseIds(userRepository.search("g_s", null, 0, 10)));
+        assertTrue(userRepository.search("%", null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void search_FiltersByStatus() {
+        assertEquals(List.of(alice.getId(), zhang.getId()),
+                responseIds(userRepository.search("example.com", User.UserStatus.ACTIVE, 0, 10)));
+        assertTrue(userRepository.search("example.com", User.UserStatus.LOCKED, 0, 10).isEmpty());
+        assertEquals(2, userRepository.countSearch("example.com", User.UserStatus.ACTIVE));
+    }
+
+    @Test
+    void search_PagesByOffsetAndCursor() {
+        assertEquals(List.of(zhang.getId()), responseIds(userRepository.search("example.com", null, 1, 1)));
+        assertEquals(List.of(zhang.getId()), responseIds(userRepository.searchAfter("example.com", null, alice.getId(), 10)));
+        assertEquals(2, userRepository.countSearch("example.com", null));
+    }
+
+    @Test
+    void search_FullTextModeWithoutIndex_FallsBackToLike() {
+        Object searchRepository = AopTestUtils.getTargetObject(applicationContext.getBean("userSearchRepositoryImpl"));
+        ReflectionTestUtils.setField(searchRepository, "mode", "fulltext");
+        try {
+            assertEquals(List.of(alice.getId()), responseIds(userRepository.search("alic", null, 0, 10)));
+            assertEquals(List.of(zhang.getId()), responseIds(userRepository.search("张三", null, 0, 10)));
+            assertEquals(2, userRepository.countSearch("example.com", null));
+        } finally {
+            ReflectionTestUtils.setField(searchRepository, "mode", "like");
+            ReflectionTestUtils.setField(searchRepository, "fullTextIndexPresent", null);
+        }
+    }
+
+    private static List<Long> responseIds(List<UserResponse> users) {
+        return users.stream().map(UserResponse::getId).toList();
+    }
+
+    private static List<String> roleNames(User user) {
+        return user.getRoles().stream().map(Role::getName).toList();
+    }
+}
@@ -4,24 +4,36 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
 
 import com.example.api.dto.response.LoginResponse;
 import com.example.core.entity.User;
-import com.example.core.repository.UserRepository;
 import com.example.core.service.impl.AuthServiceImpl;
+import com.example.infra.cache.UserLookupCache;
+import com.example.infra.security.LoginAttemptService;
 import com.example.infra.security.JwtTokenProvider;
+import com.example.infra.security.LoginTimings;
+import com.example.infra.security.RefreshTokenService;
+import com.example.infra.security.TokenRevocationService;
+import com.example.infra.security.UserPrincipal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceImplTest {
@@ -33,15 +45,27 @@ class AuthServiceImplTest {
     private JwtTokenProvider tokenProvider;
 
     @Mock
-    private UserRepository userRepository;
+    private UserLookupCache userLookupCache;
 
     @Mock
-    private Authentication authentication;
+    private LoginAttemptService loginAttemptService;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
-    @InjectMocks
     private AuthServiceImpl authService;
 
+    private UserPrincipal principal;
     private User testUser;
+    private Authentication authentication;
     private String testUsername = "testuser";
     private String testPassword = "password123";
     private String testToken = "jwt.token.here";
@@ -55,6 +79,17 @@ class AuthServiceImplTest {
         testUser.setNickname("Test User");
         testUser.setEmail("test@example.com");
         testUser.setStatus(User.UserStatus.ACTIVE);
+
+        principal = new UserPrincipal(testUser.getId(), testUser.getUsername(), testUser.getPassword(),
+                testUser.getStatus(), testUser.getEmail(), testUser.getNickname(), testUser.getPhone(),
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        authService = new AuthServiceImpl(authenticationManager, tokenProvider, userLookupCache, loginAttemptService,
+                userDetailsService, refreshTokenService, tokenRevocationService,
+                beanFactory.getBeanProvider(MeterRegistry.class));
     }
 
     @Test
@@ -63,7 +98,8 @@ class AuthServiceImplTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(tokenProvider.generateToken(eq(authentication))).thenReturn(testToken);
-        when(userRepository.findByUsername(testUsername)).thenReturn(Optional.of(testUser));
+        when(tokenProvider.getExpirationInSeconds()).thenReturn(900);
+        when(refreshTokenService.issue(testUsername)).thenReturn("refresh-token");
 
         // When
         LoginResponse result = authService.authenticateUser(testUsername, testPassword);
@@ -73,10 +109,17 @@ class AuthServiceImplTest {
         assertEquals(testToken, result.getToken());
         assertEquals(testUsername, result.getUsername());
         assertEquals(testUser.getId(), result.getUserId());
+        assertEquals(testUser.getEmail(), result.getUser().getEmail());
+        assertEquals(testUser.getNickname(), result.getUser().getFullName());
+        assertEquals("refresh-token", result.getRefreshToken());
+        assertEquals(900L, result.getExpiresIn());
 
+        verify(loginAttemptService).checkAllowed(testUsername, null);
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(loginAttemptService).recordSuccess(testUsername);
         verify(tokenProvider).generateToken(eq(authentication));
-        verify(userRepository).findByUsername(testUsername);
+        // 登录响应直接由认证主体构建，不再回查用户
+        verifyNoInteractions(userLookupCache);
     }
 
     @Test
@@ -90,29 +133,29 @@ class AuthServiceImplTest {
             authService.authenticateUser(testUsername, "wrongpassword");
         });
 
-        assertEquals("用户名或密码错误", exception.getMessage());
+        assertEquals("用户名/邮箱或密码错误", exception.getMessage());
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(loginAttemptService).recordFailure(testUsername, null);
+        verify(loginAttemptService, never()).recordSuccess(any());
         verify(tokenProvider, never()).generateToken(any(Authentication.class));
-        verify(userRepository, never()).findByUsername(any());
+        verifyNoInteractions(refreshTokenService, userLookupCache);
     }
 
     @Test
     void authenticateUser_UserNotFound() {
-        // Given
+        // Given: 用户不存在时认证提供者同样抛出BadCredentialsException，不暴露用户是否存在
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(authentication);
-        when(tokenProvider.generateToken(eq(authentication))).thenReturn(testToken);
-        when(userRepository.findByUsername(testUsername)).thenReturn(Optional.empty());
+                .thenThrow(new BadCredentialsException("Bad credentials"));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             authService.authenticateUser(testUsername, testPassword);
         });
 
-        assertEquals("用户不存在", exception.getMessage());
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(tokenProvider).generateToken(eq(authentication));
-        verify(userRepository).findByUsername(testUsername);
+        assertEquals("用户名/邮箱或密码错误", exception.getMessage());
+        verify(loginAttemptService).recordFailure(testUsername, null);
+        verify(tokenProvider, never()).generateToken(any(Authentication.class));
+        verifyNoInteractions(refreshTokenService, userLookupCache);
     }
 
     @Test
@@ -153,7 +196,6 @@ class AuthServiceImplTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(tokenProvider.generateToken(eq(authentication))).thenReturn(testToken);
-        when(userRepository.findByUsername(testUsername)).thenReturn(Optional.of(testUser));
 
         // When
         authService.authenticateUser(testUsername, testPassword);
@@ -162,7 +204,73 @@ class AuthServiceImplTest {
         verify(authenticationManager).authenticate(argThat(token -> 
             token instanceof UsernamePasswordAuthenticationToken &&
             testUsername.equals(token.getPrincipal()) &&
-            testPassword.equals(token.getCredentials())
+            testPassword.equals(token.getCredentials()) &&
+            token.getDetails() instanceof LoginTimings
         ));
     }
+
+    @Test
+    void authenticateUser_RecordsPhaseTimers() {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenAnswer(invocation -> {
+                    LoginTimings timings = (LoginTimings) invocation.<Authentication>getArgument(0).getDetails();
+                    timings.recordHash(5_000_000);
+                    timings.recordUpgrade(1_000_000);
+                    timings.recordLookup(2_000_000);
+                    return authentication;
+                });
+        when(tokenProvider.generateToken(eq(authentication))).thenReturn(testToken);
+
+        authService.authenticateUser(testUsername, testPassword);
+
+        assertEquals(5, phaseTimer("hash", "success").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, phaseTimer("upgrade", "success").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(2, phaseTimer("lookup", "success").totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(0, phaseTimer("lookup", "failure").count());
+    }
+
+    @Test
+    void authenticateUser_Failure_RecordsLookupAndHashTimers() {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenAnswer(invocation -> {
+                    LoginTimings timings = (LoginTimings) invocation.<Authentication>getArgument(0).getDetails();
+                    timings.recordHash(5_000_000);
+                    timings.recordLookup(2_000_000);
+                    throw new BadCredentialsException("Bad credentials");
+                });
+
+        assertThrows(RuntimeException.class, () -> authService.authenticateUser(testUsername, "wrongpassword"));
+
+        assertEquals(1, phaseTimer("lookup", "failure").count());
+        assertEquals(1, phaseTimer("hash", "failure").count());
+        // 失败的登录没有哈希升级和签发令牌
+        assertEquals(0, phaseTimer("upgrade", "failure").count());
+        assertEquals(0, phaseTimer("sign", "failure").count());
+        assertEquals(0, phaseTimer("hash", "success").count());
+    }
+
+    @Test
+    void refreshToken_ReturnsSameShapeAsLogin() {
+        when(refreshTokenService.consume("old-refresh")).thenReturn(testUsername);
+        when(userDetailsService.loadUserByUsername(testUsername)).thenReturn(principal);
+        when(tokenProvider.generateToken(any(Authentication.class))).thenReturn(testToken);
+        when(tokenProvider.getExpirationInSeconds()).thenReturn(900);
+        when(refreshTokenService.issue(testUsername)).thenReturn("new-refresh");
+
+        LoginResponse result = authService.refreshToken("old-refresh");
+
+        assertEquals(testToken, result.getToken());
+        assertEquals(testUsername, result.getUsername());
+        assertEquals(testUser.getId(), result.getUserId());
+        assertEquals(testUser.getId(), result.getUser().getId());
+        assertEquals(testUser.getEmail(), result.getUser().getEmail());
+        assertEquals(testUser.getNickname(), result.getUser().getFullName());
+        assertEquals("ROLE_USER", result.getUser().getRole());
+        assertEquals("new-refresh", result.getRefreshToken());
+        assertEquals(900L, result.getExpiresIn());
+    }
+
+    private Timer phaseTimer(String phase, String outcome) {
+        return meterRegistry.get("auth.login.phase").tag("phase", phase).tag("outcome", outcome).timer();
+    }
 }
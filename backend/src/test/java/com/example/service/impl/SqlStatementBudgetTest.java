@@ -0,0 +1,330 @@
+package com.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.example.api.controller.UserController;
+import com.example.core.entity.User;
+import com.example.core.repository.UserRepository;
+import com.example.core.repository.VersionedUserResponse;
+import com.example.core.service.AuthService;
+import com.example.core.service.UserExportService;
+import com.example.core.service.UserImportService;
+import com.example.core.service.UserService;
+import com.example.core.service.impl.AuthServiceImpl;
+import com.example.core.service.impl.UserServiceImpl;
+import com.example.infra.cache.UserCountStore;
+import com.example.infra.cache.UserLookupCache;
+import com.example.infra.cache.UserReadCache;
+import com.example.infra.config.UserCacheProperties;
+import com.example.infra.redis.RedisGuard;
+import com.example.infra.security.CustomUserDetailsService;
+import com.example.infra.security.JwtTokenProvider;
+import com.example.infra.security.LoginAttemptService;
+import com.example.infra.security.RefreshTokenService;
+import com.example.infra.security.TimedDaoAuthenticationProvider;
+import com.example.infra.security.TokenRevocationService;
+import com.example.support.H2DataJpaTest;
+import com.example.support.SqlStatementCounter;
+import com.example.support.SqlStatementCounter.Type;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * SQL语句预算测试：登录和用户查询路径在嵌入式数据库上执行的语句数不超过预算
+ * 单个用户和用户列表的查询从控制器调用，包含条件请求的处理。
+ * 仓库、认证管理器和二级缓存均为真实实现，Redis相关的组件为mock；
+ * 用户查找缓存关闭、读缓存直接调用加载函数、每个用例前清空二级缓存，统计的是缓存未命中时的数据库访问。
+ * 测试方法不开启事务，每次服务调用使用自己的会话，与线上一致。
+ */
+@H2DataJpaTest(properties = {
+        "app.cache.user.enabled=false",
+        SqlStatementCounter.PROPERTY
+})
+@Import({AuthServiceImpl.class, UserServiceImpl.class, CustomUserDetailsService.class, UserLookupCache.class,
+        UserCacheProperties.class, SqlStatementBudgetTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SqlStatementBudgetTest {
+
+    private static final int USER_COUNT = 30;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+
+        @Bean
+        AuthenticationManager authenticationManager(CustomUserDetailsService userDetailsService,
+                PasswordEncoder passwordEncoder) {
+            // 与SecurityConfig相同的认证链，包含登录后的哈希升级检查
+            DaoAuthenticationProvider provider = new TimedDaoAuthenticationProvider(userDetailsService);
+            provider.setPasswordEncoder(passwordEncoder);
+            provider.setUserDetailsPasswordService(userDetailsService);
+            return new ProviderManager(provider);
+        }
+
+        @Bean
+        RedisGuard redisGuard() {
+            return new RedisGuard(Duration.ofSeconds(30));
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @MockitoBean
+    private StringRedisTemplate redisTemplate;
+
+    @MockitoBean
+    private JwtTokenProvider tokenProvider;
+
+    @MockitoBean
+    private LoginAttemptService loginAttemptService;
+
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private UserCountStore userCountStore;
+
+    @MockitoBean
+    private UserReadCache userReadCache;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String password = passwordEncoder.encode("password");
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User("user" + i, password);
+            user.setEmail("user" + i + "@example.com");
+            userIds.add(userRepository.save(user).getId());
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        // 读缓存始终未命中，直接调用加载函数
+        when(userReadCache.getUser(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(userReadCache.getUserPage(any(), anyInt(), anyInt(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+        when(userReadCache.getUserPageAfter(any(), any(), anyInt(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+
+        SqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void login_ByUsername_IssuesOneSelect() {
+        assertEquals("user1", authService.authenticateUser("user1", "password", "127.0.0.1")
+                .getUser().getUsername());
+
+        SqlStatementCounter.assertAtMost(Type.SELECT, 1);
+        SqlStatementCounter.assertTotalAtMost(1);
+    }
+
+    @Test
+    void login_ByEmail_IssuesOneSelect() {
+        assertEquals("user1", authService.authenticateUser("user1@example.com", "password", "127.0.0.1")
+                .getUser().getUsername());
+
+        SqlStatementCounter.assertAtMost(Type.SELECT, 1);
+        SqlStatementCounter.assertTotalAtMost(1);
+    }
+
+    @Test
+    void login_WrongPassword_IssuesOneSelect() {
+        assertThrows(RuntimeException.class,
+                () -> authService.authenticateUser("user1", "wrong", "127.0.0.1"));
+
+        SqlStatementCounter.assertTotalAtMost(1);
+    }
+
+    @Test
+    void getCurrentUser_IssuesOneSelect() {
+        authService.getCurrentUser(new UsernamePasswordAuthenticationToken("user1", null));
+
+        SqlStatementCounter.assertTotalAtMost(1);
+    }
+
+    @Test
+    void getUserList_IssuesOneSelectRegardlessOfPageSize() {
+        assertEquals(20, userService.getUserList(0, 20, null, null).size());
+        SqlStatementCounter.assertTotalAtMost(1);
+
+        SqlStatementCounter.reset();
+        assertEquals(10, userService.getUserList(1, 20, null, User.UserStatus.ACTIVE).size());
+        SqlStatementCounter.assertTotalAtMost(1);
+
+        SqlStatementCounter.reset();
+        assertEquals(20, userService.getUserListAfter(userIds.get(0), 20, null, null).size());
+        SqlStatementCounter.assertTotalAtMost(1);
+    }
+
+    @Test
+    void getUserById_IssuesOneSelect() {
+        userService.getUserById(userIds.get(0));
+
+        SqlStatementCounter.assertTotalAtMost(1);
+    }
+
+    @Test
+    void getUserEndpoint_CacheMiss_IssuesOneSelect() {
+        UserController controller = userController();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertEquals("user0", controller.getUserById(userIds.get(0), webRequest(null, response), response)
+                .getData().getUsername());
+        SqlStatementCounter.assertTotalAtMost(1);
+
+        // 条件请求的ETag与响应体来自同一次查询
+        SqlStatementCounter.reset();
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        assertNull(controller.getUserById(userIds.get(0),
+                webRequest(response.getHeader(HttpHeaders.ETAG), notModified), notModified));
+        assertEquals(304, notModified.getStatus());
+        SqlStatementCounter.assertTotalAtMost(1);
+    }
+
+    @Test
+    void getUserEndpoint_CacheHit_IssuesNoSql() {
+        VersionedUserResponse cached = userService.getVersionedUserById(userIds.get(0));
+        doReturn(cached).when(userReadCache).getUser(any(), any());
+        UserController controller = userController();
+        SqlStatementCounter.reset();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertEquals("user0", controller.getUserById(userIds.get(0), webRequest(null, response), response)
+                .getData().getUsername());
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        assertNull(controller.getUserById(userIds.get(0),
+                webRequest(response.getHeader(HttpHeaders.ETAG), notModified), notModified));
+        assertEquals(304, notModified.getStatus());
+
+        SqlStatementCounter.assertTotalAtMost(0);
+    }
+
+    @Test
+    void getUserListEndpoint_IssuesOneSelectAndEtagFollowsBody() {
+        UserController controller = userController();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertEquals(20, controller.getUserList(0, 20, null, null, null, "none", webRequest(null, response), response)
+                .getData().getUsers().size());
+        SqlStatementCounter.assertTotalAtMost(1);
+
+        // 不再单独查询版本，条件请求同样只有取当前页的一次查询
+        SqlStatementCounter.reset();
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        assertNull(controller.getUserList(0, 20, null, null, null, "none", webRequest(etag, notModified),
+                notModified));
+        assertEquals(304, notModified.getStatus());
+        SqlStatementCounter.assertTotalAtMost(1);
+
+        User user = userRepository.findById(userIds.get(3)).orElseThrow();
+        user.setNickname("changed");
+        userRepository.save(user);
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        assertEquals("changed", controller.getUserList(0, 20, null, null, null, "none", webRequest(etag, changed),
+                changed).getData().getUsers().get(3).getNickname());
+        assertNotEquals(etag, changed.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getUsersByIds_IssuesOneSelectForAllIds() {
+        assertEquals(10, userService.getUsersByIds(userIds.subList(0, 10)).getUsers().size());
+
+        SqlStatementCounter.assertTotalAtMost(1);
+    }
+
+    @Test
+    void updateUserStatus_IssuesOneSelectAndOneUpdate() {
+        userService.updateUserStatus(userIds.get(0), User.UserStatus.LOCKED);
+
+        SqlStatementCounter.assertAtMost(Type.SELECT, 1);
+        SqlStatementCounter.assertAtMost(Type.UPDATE, 1);
+        SqlStatementCounter.assertTotalAtMost(2);
+    }
+
+    private UserController userController() {
+        return new UserController(userService, mock(UserExportService.class), mock(UserImportService.class));
+    }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+
+    @Test
+    void perRowLookups_ExceedBudget() {
+        // 逐个查询即N+1，预算断言应当失败
+        for (Long id : userIds.subList(0, 3)) {
+            userRepository.findById(id);
+        }
+
+        assertEquals(3, SqlStatementCounter.count(Type.SELECT));
+        assertThrows(AssertionFailedError.class, () -> SqlStatementCounter.assertAtMost(Type.SELECT, 1));
+    }
+}
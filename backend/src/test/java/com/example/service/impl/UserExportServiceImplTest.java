@@ -0,0 +1,87 @@
+package com.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import com.example.core.entity.User;
+import com.example.core.repository.UserRepository;
+import com.example.core.service.UserExportService;
+import com.example.core.service.impl.UserExportServiceImpl;
+import com.example.support.H2DataJpaTest;
+import com.example.support.TestUsers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 用户导出格式测试
+ * H2不支持MySQL的逐行流式读取，使用正数fetchSize
+ */
+@H2DataJpaTest(properties = "app.export.user.fetch-size=100")
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import(UserExportServiceImpl.class)
+class UserExportServiceImplTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        alice = TestUsers.save(userRepository, "alice", "alice@example.com", "Smith, \"Al\"", User.UserStatus.ACTIVE);
+        TestUsers.save(userRepository, "bob", "bob@corp.test", "=HYPERLINK(\"x\")", User.UserStatus.LOCKED);
+        TestUsers.save(userRepository, "zhang_san", null, "张三", User.UserStatus.ACTIVE);
+    }
+
+    @Test
+    void exportUsers_Ndjson_WritesOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = userExportService.exportUsers(null, UserExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, rows);
+        assertEquals(3, lines.length);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertEquals(alice.getId().longValue(), first.get("id").asLong());
+        assertEquals("Smith, \"Al\"", first.get("nickname").asText());
+        assertEquals("ACTIVE", first.get("status").asText());
+        assertTrue(first.hasNonNull("createdAt"));
+        assertTrue(new ObjectMapper().readTree(lines[2]).get("email").isNull());
+    }
+
+    @Test
+    void exportUsers_Csv_QuotesAndGuardsFormulas() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userExportService.exportUsers(null, UserExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("id,username,nickname,email,phone,status,createdAt", lines[0]);
+        assertTrue(lines[1].contains(",\"Smith, \"\"Al\"\"\",alice@example.com,,ACTIVE,"));
+        assertTrue(lines[2].contains(",\"'=HYPERLINK(\"\"x\"\")\","));
+        assertTrue(lines[3].contains(",张三,,,ACTIVE,"));
+    }
+
+    @Test
+    void exportUsers_FiltersByStatus() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = userExportService.exportUsers(User.UserStatus.LOCKED, UserExportService.Format.NDJSON, out);
+
+        assertEquals(1, rows);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"username\":\"bob\""));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.example.api.dto.response.UserImportResponse;
+import com.example.core.entity.User;
+import com.example.core.event.UserChangedEvent;
+import com.example.core.repository.UserRepository;
+import com.example.core.service.UserImportService;
+import com.example.core.service.impl.UserImportServiceImpl;
+import com.example.infra.config.UserImportProperties;
+import com.example.infra.exception.BusinessException;
+import com.example.support.H2DataJpaTest;
+
+/**
+ * 用户批量导入测试
+ * 批大小设为2，覆盖多批写入、行校验、文件内重复和与已有用户冲突，以及每个写入的用户各发布一次新增事件
+ */
+@H2DataJpaTest(properties = {
+        "app.import.user.batch-size=2",
+        "app.import.user.hash-threads=2"
+})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import({UserImportServiceImpl.class, UserImportProperties.class, UserImportServiceImplTest.Config.class})
+@RecordApplicationEvents
+class UserImportServiceImplTest {
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Test
+    void importUsers_WritesValidRowsAndReportsErrors() throws Exception {
+        userRepository.save(new User("existing", "encodedPassword"));
+
+        UserImportResponse result = importCsv("""
+                username,password,email,nickname,status
+                alice,secret1,alice@example.com,"Smith, Alice",active
+                bob,secret2,,"多行
+                昵称",LOCKED
+                ,secret3,,,
+                existing,secret4,,,
+                carol,secret5,,,unknown
+                alice,secret6,,,
+                dave,secret7,,,
+                """);
+
+        assertEquals(7, result.getTotal());
+        assertEquals(3, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertFalse(result.isErrorsTruncated());
+        assertEquals(List.of(5L, 6L, 7L, 8L),
+                result.getErrors().stream().map(UserImportResponse.RowError::getLine).sorted().toList());
+
+        User alice = userRepository.findByUsername("alice").orElseThrow();
+        assertEquals("Smith, Alice", alice.getNickname());
+        assertEquals(User.UserStatus.ACTIVE, alice.getStatus());
+        assertTrue(passwordEncoder.matches("secret1", alice.getPassword()));
+        assertEquals("多行\n昵称", userRepository.findByUsername("bob").orElseThrow().getNickname());
+        assertEquals(User.UserStatus.LOCKED, userRepository.findByUsername("bob").orElseThrow().getStatus());
+        assertTrue(userRepository.findByUsername("dave").isPresent());
+
+        List<UserChangedEvent> events = applicationEvents.stream(UserChangedEvent.class).toList();
+        assertEquals(List.of("alice", "bob", "dave"),
+                events.stream().map(UserChangedEvent::getUsername).sorted().toList());
+        assertTrue(events.stream().allMatch(event -> event.getType() == UserChangedEvent.ChangeType.CREATED));
+        assertEquals(User.UserStatus.LOCKED, events.stream()
+                .filter(event -> event.getUsername().equals("bob")).findFirst().orElseThrow().getStatus());
+    }
+
+    @Test
+    void importUsers_RequiresUsernameAndPasswordColumns() {
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> importCsv("username,email\nalice,alice@example.com\n"));
+
+        assertEquals(400, exception.getCode());
+    }
+
+    private UserImportResponse importCsv(String csv) throws Exception {
+        return userImportService.importUsers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * 在H2内存库上运行的JPA切片测试
+ * 数据源和建表方式见application-test.yml；不替换为自动配置的嵌入式库，
+ * 以便使用MySQL兼容模式。测试专用的属性通过{@link #properties()}追加。
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public @interface H2DataJpaTest {
+
+    /**
+     * 追加到测试环境的属性，格式为key=value
+     */
+    @AliasFor(annotation = DataJpaTest.class)
+    String[] properties() default {};
+}
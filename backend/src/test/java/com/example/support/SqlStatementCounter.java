@@ -0,0 +1,102 @@
+package com.example.support;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 记录Hibernate发出的SQL，供测试断言语句预算
+ * 通过 spring.jpa.properties.hibernate.session_factory.statement_inspector 注册；
+ * Hibernate按类名创建实例，记录保存在静态字段中，每个测试开始前调用{@link #reset()}。
+ * 只统计经过Hibernate的语句，JdbcTemplate直接执行的不在其中。
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    /**
+     * Spring属性，加入@H2DataJpaTest的properties即可启用
+     */
+    public static final String PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.support.SqlStatementCounter";
+
+    public enum Type {
+        SELECT, INSERT, UPDATE, DELETE, OTHER
+    }
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    /**
+     * 清空已记录的语句
+     */
+    public static void reset() {
+        statements.clear();
+    }
+
+    /**
+     * 自上次清空以来记录的全部语句
+     * @return 语句列表
+     */
+    public static List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    /**
+     * 指定类型的语句数
+     * @param type 语句类型
+     * @return 语句数
+     */
+    public static long count(Type type) {
+        return statements.stream().filter(sql -> typeOf(sql) == type).count();
+    }
+
+    /**
+     * 断言指定类型的语句数不超过预算，超出时列出全部语句
+     * @param type 语句类型
+     * @param budget 预算
+     */
+    public static void assertAtMost(Type type, int budget) {
+        long actual = count(type);
+        if (actual > budget) {
+            fail(type + " 语句数 " + actual + " 超出预算 " + budget + "：\n  " + String.join("\n  ", statements));
+        }
+    }
+
+    /**
+     * 断言全部语句数不超过预算
+     * @param budget 预算
+     */
+    public static void assertTotalAtMost(int budget) {
+        if (statements.size() > budget) {
+            fail("语句数 " + statements.size() + " 超出预算 " + budget + "：\n  " + String.join("\n  ", statements));
+        }
+    }
+
+    static Type typeOf(String sql) {
+        String statement = sql.strip();
+        // 跳过Hibernate加在语句前的注释
+        while (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            if (end < 0) {
+                return Type.OTHER;
+            }
+            statement = statement.substring(end + 2).strip();
+        }
+        String keyword = statement.split("\\s", 2)[0].toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "with" -> Type.SELECT;
+            case "insert" -> Type.INSERT;
+            case "update" -> Type.UPDATE;
+            case "delete" -> Type.DELETE;
+            default -> Type.OTHER;
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.support;
+
+import com.example.core.entity.User;
+import com.example.core.repository.UserRepository;
+
+/**
+ * 仓库测试共用的用户数据
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    /**
+     * 保存一个用户，密码为固定的已编码值
+     */
+    public static User save(UserRepository userRepository, String username, String email, String nickname,
+            User.UserStatus status) {
+        User user = new User(username, "encodedPassword");
+        user.setEmail(email);
+        user.setNickname(nickname);
+        user.setStatus(status);
+        return userRepository.save(user);
+    }
+}
@@ -14,8 +14,11 @@ CREATE TABLE IF NOT EXISTS users (
     phone VARCHAR(20),
     nickname VARCHAR(50),
     status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    version BIGINT NOT NULL DEFAULT 0, -- 每次更新加一，用于ETag和乐观锁
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP NULL DEFAULT NULL ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP NULL DEFAULT NULL ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_users_status_id (status, id), -- 按状态筛选的分页
+    FULLTEXT INDEX ft_users_search (username, email, nickname) WITH PARSER ngram -- 关键词搜索，中文按字切分
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- 创建角色表
@@ -1,5 +1,6 @@
 import { useState, useEffect, createContext, useContext } from 'react';
 import { useLocalStorage } from './useLocalStorage';
+import { tokenStorage } from '../services/tokenStorage';
 
 interface User {
     id: number;
@@ -111,6 +112,8 @@ export const useAuthProvider = (): AuthContextType => {
 
             setUser(data.user);
             setToken(data.token);
+            // 访问令牌过期后api.ts用刷新令牌续期
+            tokenStorage.setRefreshToken(data.refreshToken);
 
             // token已经通过useLocalStorage自动存储，不需要额外操作
 
@@ -123,15 +126,20 @@ export const useAuthProvider = (): AuthContextType => {
     };
 
     const logout = () => {
+        const accessToken = tokenStorage.getAccessToken();
+        const refreshToken = tokenStorage.getRefreshToken();
         setUser(null);
         setToken(null);
+        tokenStorage.setRefreshToken(null);
         // token已经通过useLocalStorage自动清除，不需要额外操作
 
-        // 可选：调用后端登出接口
-        if (token) {
+        // 调用后端登出接口：撤销当前访问令牌，并作废刷新令牌
+        if (accessToken) {
             import('../services/api').then(module => {
                 const apiClient = module.apiClient;
-                return apiClient.post('/auth/logout');
+                return apiClient.post('/auth/logout', refreshToken ? { refreshToken } : undefined, {
+                    headers: { Authorization: `Bearer ${accessToken}` }
+                });
             }).catch(error => {
                 console.error('Logout API call failed:', error);
             });
@@ -47,8 +47,9 @@ const UserList: React.FC = () => {
     setLoading(true);
     try {
       const params = new URLSearchParams({
-        page: currentPage.toString(),
-        pageSize: pageSize.toString(),
+        // 后端页码从0开始
+        page: (currentPage - 1).toString(),
+        size: pageSize.toString(),
         ...(searchTerm && { search: searchTerm }),
         ...(statusFilter !== 'all' && { status: statusFilter })
       });
@@ -1,9 +1,18 @@
-import axios, { AxiosInstance, AxiosRequestConfig, AxiosResponse } from 'axios'
+import axios, { AxiosInstance, AxiosRequestConfig, AxiosResponse, InternalAxiosRequestConfig } from 'axios'
 import { ApiResponse } from '../types/common'
+import { tokenStorage } from './tokenStorage'
+
+// 不触发令牌刷新的接口：刷新本身失败、登录失败都应直接返回
+const NO_REFRESH_URLS = ['/auth/login', '/auth/refresh']
+
+type RetriableRequestConfig = InternalAxiosRequestConfig & { _retried?: boolean }
 
 class ApiClient {
   private instance: AxiosInstance
 
+  // 进行中的刷新请求，多个并发的401共用一次刷新（刷新令牌只能使用一次）
+  private refreshing: Promise<string> | null = null
+
   constructor() {
     this.instance = axios.create({
       baseURL: import.meta.env.VITE_API_BASE_URL || '/api',
@@ -21,7 +30,7 @@ class ApiClient {
     this.instance.interceptors.request.use(
       (config) => {
         // 使用auth_token键名，与useAuth.ts保持一致
-        const token = localStorage.getItem('auth_token')
+        const token = tokenStorage.getAccessToken()
         if (token && config.headers) {
           config.headers['Authorization'] = `Bearer ${token}`
         }
@@ -37,18 +46,52 @@ class ApiClient {
       (response: AxiosResponse<ApiResponse>) => {
         return response
       },
-      (error) => {
-        if (error.response?.status === 401) {
-          // Token expired or invalid - just clear the token
-          // Let the auth provider handle the redirect
-          localStorage.removeItem('auth_token')
-          console.log('Token expired or invalid, cleared token')
+      async (error) => {
+        const original = error.config as RetriableRequestConfig | undefined
+        if (error.response?.status !== 401 || !original) {
+          return Promise.reject(error)
         }
+
+        // 访问令牌过期：用刷新令牌换取新令牌后重试一次
+        const url = original.url || ''
+        if (!original._retried && tokenStorage.getRefreshToken()
+            && !NO_REFRESH_URLS.some((path) => url.endsWith(path))) {
+          original._retried = true
+          try {
+            const token = await this.refreshAccessToken()
+            original.headers['Authorization'] = `Bearer ${token}`
+            return this.instance(original)
+          } catch (refreshError) {
+            console.log('Token refresh failed', refreshError)
+          }
+        }
+
+        // 无法续期：清除令牌，由auth provider处理跳转
+        tokenStorage.clear()
+        console.log('Token expired or invalid, cleared token')
         return Promise.reject(error)
       }
     )
   }
 
+  private refreshAccessToken(): Promise<string> {
+    if (!this.refreshing) {
+      this.refreshing = this.instance
+        .post('/auth/refresh', { refreshToken: tokenStorage.getRefreshToken() })
+        .then((response) => {
+          const data = response.data.data
+          tokenStorage.setAccessToken(data.token)
+          // 刷新令牌每次使用后轮换
+          tokenStorage.setRefreshToken(data.refreshToken)
+          return data.token as string
+        })
+        .finally(() => {
+          this.refreshing = null
+        })
+    }
+    return this.refreshing
+  }
+
   async get<T = any>(url: string, config?: AxiosRequestConfig): Promise<AxiosResponse<ApiResponse<T>>> {
     return this.instance.get(url, config)
   }
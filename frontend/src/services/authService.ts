@@ -1,4 +1,5 @@
 import { apiClient } from './api'
+import { tokenStorage } from './tokenStorage'
 import { 
   LoginRequest, 
   LoginResponse, 
@@ -35,7 +36,7 @@ class AuthService {
 
   // Refresh token
   async refreshToken() {
-    const refreshToken = localStorage.getItem('refreshToken')
+    const refreshToken = tokenStorage.getRefreshToken()
     if (!refreshToken) {
       throw new Error('No refresh token available')
     }
@@ -93,12 +94,12 @@ class AuthService {
 
   // Get refresh token
   getRefreshToken(): string | null {
-    return localStorage.getItem('refreshToken')
+    return tokenStorage.getRefreshToken()
   }
 
   // Set refresh token
   setRefreshToken(refreshToken: string): void {
-    localStorage.setItem('refreshToken', refreshToken)
+    tokenStorage.setRefreshToken(refreshToken)
   }
 }
 
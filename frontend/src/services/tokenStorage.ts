@@ -0,0 +1,40 @@
+// 令牌存储：访问令牌与useAuth.ts的useLocalStorage共用auth_token键（JSON格式），
+// 刷新令牌存于refreshToken键，与authService.ts一致
+
+const ACCESS_TOKEN_KEY = 'auth_token'
+const REFRESH_TOKEN_KEY = 'refreshToken'
+
+const read = (key: string): string | null => {
+  const item = localStorage.getItem(key)
+  if (!item) {
+    return null
+  }
+  try {
+    const value = JSON.parse(item)
+    return typeof value === 'string' ? value : null
+  } catch {
+    // 兼容未经JSON编码直接写入的值
+    return item
+  }
+}
+
+const write = (key: string, value: string | null | undefined) => {
+  if (value) {
+    localStorage.setItem(key, JSON.stringify(value))
+  } else {
+    localStorage.removeItem(key)
+  }
+}
+
+export const tokenStorage = {
+  getAccessToken: () => read(ACCESS_TOKEN_KEY),
+  setAccessToken: (token: string | null | undefined) => write(ACCESS_TOKEN_KEY, token),
+  getRefreshToken: () => read(REFRESH_TOKEN_KEY),
+  setRefreshToken: (token: string | null | undefined) => write(REFRESH_TOKEN_KEY, token),
+  clear: () => {
+    localStorage.removeItem(ACCESS_TOKEN_KEY)
+    localStorage.removeItem(REFRESH_TOKEN_KEY)
+  },
+}
+
+export default tokenStorage
@@ -4,6 +4,7 @@ import {
   UserCreateRequest, 
   UserUpdateRequest, 
   UserListResponse, 
+  UserBatchResponse,
   UserQuery 
 } from '../types/user'
 
@@ -29,6 +30,11 @@ class UserService {
     return apiClient.get<User>(`/users/${id}`)
   }
 
+  // Get users by IDs in one request (max 100), results keep the order of ids
+  async getUsersByIds(ids: Array<string | number>) {
+    return apiClient.post<UserBatchResponse>('/users/batch', { ids: ids.map(Number) })
+  }
+
   // Create new user
   async createUser(userData: UserCreateRequest) {
     return apiClient.post<User>('/users', userData)
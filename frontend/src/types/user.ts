@@ -51,6 +51,11 @@ export interface UserListResponse {
   limit: number
 }
 
+export interface UserBatchResponse {
+  users: User[]
+  missingIds: number[]
+}
+
 export interface UserQuery {
   page?: number
   limit?: number
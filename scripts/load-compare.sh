@@ -0,0 +1,109 @@
+#!/bin/bash
+
+# 平台线程与虚拟线程的负载对比
+# 分别以默认配置和 SPRING_PROFILES_ACTIVE=<原有配置>,virtual-threads 启动后端（后者需Java 21，mvn -Pjava21 构建），
+# 对同一组接口按递增并发压测，输出吞吐量和延迟。
+#
+# 用法：
+#   ./scripts/load-compare.sh platform      # 对已启动的平台线程实例压测
+#   ./scripts/load-compare.sh virtual       # 对已启动的虚拟线程实例压测
+#   ./scripts/load-compare.sh report        # 汇总两次结果
+#
+# 环境变量：
+#   BASE_URL     后端地址（默认 http://localhost:8080/api）
+#   USERNAME / PASSWORD  登录账号（默认 admin / password123）
+#   CONCURRENCY  并发连接数列表（默认 "50 200 800"）
+#   DURATION     每轮时长（默认 30s）
+#
+# 依赖：wrk、curl、jq
+
+# 确定项目根目录
+PROJECT_ROOT="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+RESULT_DIR="${PROJECT_ROOT}/backend/target/load-compare"
+
+BASE_URL="${BASE_URL:-http://localhost:8080/api}"
+USERNAME="${USERNAME:-admin}"
+PASSWORD="${PASSWORD:-password123}"
+CONCURRENCY="${CONCURRENCY:-50 200 800}"
+DURATION="${DURATION:-30s}"
+
+# 颜色定义
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+print_message() {
+  echo -e "${GREEN}[INFO]${NC} $1"
+}
+
+print_error() {
+  echo -e "${RED}[ERROR]${NC} $1"
+}
+
+check_dependencies() {
+  for cmd in wrk curl jq; do
+    if ! command -v "$cmd" &> /dev/null; then
+      print_error "缺少依赖: $cmd"
+      exit 1
+    fi
+  done
+}
+
+login() {
+  curl -s -X POST "${BASE_URL}/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "{\"usernameOrEmail\":\"${USERNAME}\",\"password\":\"${PASSWORD}\"}" \
+    | jq -r '.data.token'
+}
+
+run_mode() {
+  local mode="$1"
+  local token
+  token="$(login)"
+  if [ -z "$token" ] || [ "$token" = "null" ]; then
+    print_error "登录失败，请确认后端已启动且账号可用"
+    exit 1
+  fi
+
+  mkdir -p "${RESULT_DIR}"
+  local result_file="${RESULT_DIR}/${mode}.txt"
+  : > "${result_file}"
+
+  # 列表查询（JDBC）、单个用户（条件请求之前的完整读取）
+  for path in "/users?size=20&total=none" "/users/1"; do
+    for connections in ${CONCURRENCY}; do
+      print_message "[${mode}] ${path} 并发 ${connections}"
+      echo "### ${path} c=${connections}" >> "${result_file}"
+      wrk -t4 -c"${connections}" -d"${DURATION}" --latency \
+        -H "Authorization: Bearer ${token}" \
+        "${BASE_URL}${path}" \
+        | grep -E "Requests/sec|Latency |50%|99%|Non-2xx|Socket errors" >> "${result_file}"
+    done
+  done
+  print_message "结果已写入 ${result_file}"
+}
+
+report() {
+  for mode in platform virtual; do
+    if [ ! -f "${RESULT_DIR}/${mode}.txt" ]; then
+      print_error "缺少 ${mode} 的结果，请先运行 $0 ${mode}"
+      exit 1
+    fi
+  done
+  paste -d'|' "${RESULT_DIR}/platform.txt" "${RESULT_DIR}/virtual.txt" \
+    | awk -F'|' 'BEGIN { printf "%-48s | %-48s\n", "platform", "virtual" } { printf "%-48s | %-48s\n", $1, $2 }'
+}
+
+case "$1" in
+  platform|virtual)
+    check_dependencies
+    run_mode "$1"
+    ;;
+  report)
+    report
+    ;;
+  *)
+    echo "用法: $0 {platform|virtual|report}"
+    exit 1
+    ;;
+esac